@@ -0,0 +1,60 @@
+package framework.core;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The Class BenchmarkRunner is the main class of the benchmarks jar. It takes
+ * the usual JMH options and adds the GC profiler (<code>-prof gc</code>), so
+ * the allocation rate is reported next to the throughput.
+ * <p>
+ * <code>java -jar benchmarks/target/benchmarks.jar Tick -p objectCount=1000</code>
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+	/**
+	 * Instantiates a new benchmark runner, not used.
+	 */
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @param args
+	 *            the JMH command line options
+	 */
+	public static void main(String[] args) {
+		try {
+			CommandLineOptions commandLine = new CommandLineOptions(args);
+			if (commandLine.shouldHelp() || commandLine.shouldList()
+					|| commandLine.shouldListProfilers()
+					|| commandLine.shouldListResultFormats()) {
+				org.openjdk.jmh.Main.main(args);
+				return;
+			}
+			ChainedOptionsBuilder options = new OptionsBuilder()
+					.parent(commandLine);
+			if (commandLine.getProfilers().isEmpty())
+				options.addProfiler(GCProfiler.class);
+			new Runner(options.build()).run();
+		} catch (CommandLineOptionException e) {
+			System.err.println("Error parsing the command line: "
+					+ e.getMessage());
+			System.exit(1);
+		} catch (RunnerException e) {
+			System.err.println("Error running the benchmarks: "
+					+ e.getMessage());
+			System.exit(1);
+		} catch (Exception e) {
+			System.err.println(e.toString());
+			System.exit(1);
+		}
+	}
+}
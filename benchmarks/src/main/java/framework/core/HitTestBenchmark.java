@@ -0,0 +1,215 @@
+package framework.core;
+
+import java.awt.Component;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.events.MouseControl;
+import framework.objects.base.CanvasObject;
+
+/**
+ * The Class HitTestBenchmark measures the search of the object under the mouse
+ * and the dispatch of a mouse-event to the objects and listeners.
+ *
+ * @see MouseDispatcher
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HitTestBenchmark {
+
+	/** The number of points tested in turn, a power of two. */
+	private static final int POINTS = 1024;
+
+	/** The number of objects. */
+	@Param({ "100", "1000", "10000", "100000" })
+	public int objectCount;
+
+	/** The shape mix. */
+	@Param({ Scene.CIRCLES, Scene.MIXED })
+	public String shapeMix;
+
+	/** The number of mouse listeners that are no canvas objects. */
+	@Param({ "0", "10", "100" })
+	public int listenerCount;
+
+	/** The dispatcher. */
+	private MouseDispatcher dispatcher;
+
+	/** The x of the points. */
+	private int[] xs;
+
+	/** The y of the points. */
+	private int[] ys;
+
+	/** The mouse-events at the points. */
+	private MouseEvent[] events;
+
+	/** The index of the next point. */
+	private int next;
+
+	/**
+	 * Creates the objects, the listeners and the points.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		CanvasObject[] objects = Scene.populate(objectCount, shapeMix);
+		Canvas canvas = Canvas.getCanvas();
+		canvas.redraw();
+
+		dispatcher = new MouseDispatcher(canvas);
+		for (CanvasObject object : objects)
+			if (object instanceof MouseControl)
+				dispatcher.add((MouseControl) object);
+		for (int i = 0; i < listenerCount; i++)
+			dispatcher.add(new Listener());
+		dispatcher.update();
+
+		Component source = canvas.getPane();
+		Random random = new Random(7);
+		xs = new int[POINTS];
+		ys = new int[POINTS];
+		events = new MouseEvent[POINTS];
+		for (int i = 0; i < POINTS; i++) {
+			xs[i] = random.nextInt(Scene.WIDTH);
+			ys[i] = random.nextInt(Scene.HEIGHT);
+			events[i] = new MouseEvent(source, MouseEvent.MOUSE_MOVED, 0L,
+					0, xs[i], ys[i], 0, false);
+		}
+	}
+
+	/**
+	 * Finds the object under a point.
+	 *
+	 * @return the object, or null
+	 */
+	@Benchmark
+	public CanvasObject findTarget() {
+		int i = next++ & (POINTS - 1);
+		return dispatcher.findTarget(xs[i], ys[i]);
+	}
+
+	/**
+	 * Dispatches a mouse-moved event to the object under the point and all
+	 * listeners.
+	 */
+	@Benchmark
+	public void mouseMoved() {
+		dispatcher.mouseMoved(events[next++ & (POINTS - 1)]);
+	}
+
+	/**
+	 * The Class Listener is a mouse listener that does nothing.
+	 */
+	private static final class Listener implements MouseControl {
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#mouseClicked(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mouseClicked(MouseEvent event) {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#mouseEntered(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mouseEntered(MouseEvent event) {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#mouseExited(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mouseExited(MouseEvent event) {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#mousePressed(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mousePressed(MouseEvent event) {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#mouseReleased(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mouseReleased(MouseEvent event) {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#mouseWheelMoved(java.awt.event.
+		 * MouseWheelEvent)
+		 */
+		@Override
+		public void mouseWheelMoved(MouseWheelEvent event) {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#mouseDragged(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mouseDragged(MouseEvent event) {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#mouseMoved(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mouseMoved(MouseEvent event) {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#addMouseControl()
+		 */
+		@Override
+		public void addMouseControl() {
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.MouseControl#removeMouseControl()
+		 */
+		@Override
+		public void removeMouseControl() {
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package framework.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.objects.base.CanvasObject;
+
+/**
+ * The Class RedrawBenchmark measures the redraw of the canvas alone, with and
+ * without the partial redraw.
+ *
+ * @see Canvas#redraw()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RedrawBenchmark {
+
+	/** The number of objects. */
+	@Param({ "100", "1000", "10000", "100000" })
+	public int objectCount;
+
+	/** The shape mix. */
+	@Param({ Scene.CIRCLES, Scene.MIXED })
+	public String shapeMix;
+
+	/** The partial redraw-flag. */
+	@Param({ "false", "true" })
+	public boolean partialRedraw;
+
+	/** The canvas. */
+	private Canvas canvas;
+
+	/** The objects. */
+	private CanvasObject[] objects;
+
+	/** The number of the frame. */
+	private long frame;
+
+	/**
+	 * Creates the objects and draws them once.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		objects = Scene.populate(objectCount, shapeMix);
+		Scene.application().setPartialRedraw(partialRedraw);
+		canvas = Canvas.getCanvas();
+		canvas.redraw();
+	}
+
+	/**
+	 * A redraw without any change of the objects.
+	 */
+	@Benchmark
+	public void redraw() {
+		canvas.redraw();
+	}
+
+	/**
+	 * A redraw with every 64th object moved.
+	 */
+	@Benchmark
+	public void redrawMoving() {
+		Scene.move(objects, 64, frame++);
+		canvas.redraw();
+	}
+}
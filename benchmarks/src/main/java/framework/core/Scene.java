@@ -0,0 +1,117 @@
+package framework.core;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.Random;
+
+import framework.objects.Circle;
+import framework.objects.Rectangle;
+import framework.objects.Square;
+import framework.objects.Text;
+import framework.objects.Triangle;
+import framework.objects.base.CanvasObject;
+
+/**
+ * The Class Scene creates the objects the benchmarks work on, the application
+ * is initialized headless on first use.
+ * <p>
+ * The application is a singleton, so every benchmark must run in its own fork
+ * (the JMH default) to start with an empty scene.
+ * </p>
+ */
+final class Scene {
+
+	/** The width of the headless canvas. */
+	static final int WIDTH = 800;
+
+	/** The height of the headless canvas. */
+	static final int HEIGHT = 600;
+
+	/** The shape mix of circles only. */
+	static final String CIRCLES = "circles";
+
+	/** The shape mix of all shapes in turn. */
+	static final String MIXED = "mixed";
+
+	/** The colors the objects are drawn in. */
+	private static final Color[] COLORS = { Color.RED, Color.GREEN,
+			Color.BLUE, Color.ORANGE, Color.MAGENTA };
+
+	/**
+	 * Instantiates a new scene, not used.
+	 */
+	private Scene() {
+	}
+
+	/**
+	 * Initializes the application headless, without starting it.
+	 *
+	 * @return the application
+	 */
+	static Application application() {
+		Application application = Application.getInstance();
+		application.initializeHeadless(WIDTH, HEIGHT);
+		return application;
+	}
+
+	/**
+	 * Creates visible objects at random positions, the same for every run.
+	 *
+	 * @param count
+	 *            the number of objects
+	 * @param shapeMix
+	 *            the shape mix, <code>CIRCLES</code> or <code>MIXED</code>
+	 * @return the objects
+	 */
+	static CanvasObject[] populate(int count, String shapeMix) {
+		application();
+		boolean mixed = MIXED.equals(shapeMix);
+		Random random = new Random(42);
+		CanvasObject[] objects = new CanvasObject[count];
+		for (int i = 0; i < count; i++) {
+			int x = random.nextInt(WIDTH - 40);
+			int y = random.nextInt(HEIGHT - 40);
+			int size = 10 + random.nextInt(30);
+			Color color = COLORS[i % COLORS.length];
+			switch (mixed ? i % 5 : 0) {
+			case 1:
+				objects[i] = new Square(x, y, size, color);
+				break;
+			case 2:
+				objects[i] = new Rectangle(x, y, size, size / 2 + 1, color);
+				break;
+			case 3:
+				objects[i] = new Triangle(x, y, size, size, color);
+				break;
+			case 4:
+				objects[i] = new Text(x, y + size, "Text " + i);
+				break;
+			default:
+				objects[i] = new Circle(x, y, size, color);
+				break;
+			}
+			objects[i].makeVisible();
+		}
+		return objects;
+	}
+
+	/**
+	 * Moves every n-th object by one pixel, back and forth, so the moved
+	 * objects change from frame to frame.
+	 *
+	 * @param objects
+	 *            the objects
+	 * @param stride
+	 *            every how many objects one is moved
+	 * @param frame
+	 *            the number of the frame
+	 */
+	static void move(CanvasObject[] objects, int stride, long frame) {
+		int offset = (int) (frame % stride);
+		int step = (frame / stride & 1) == 0 ? 1 : -1;
+		for (int i = offset; i < objects.length; i += stride) {
+			Point position = objects[i].getPosition();
+			objects[i].setPosition(position.x + step, position.y);
+		}
+	}
+}
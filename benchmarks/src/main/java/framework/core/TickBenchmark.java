@@ -0,0 +1,111 @@
+package framework.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.objects.base.CanvasObject;
+
+/**
+ * The Class TickBenchmark measures a whole tick of the application, the
+ * fixed time-step update of all objects followed by the redraw of the canvas,
+ * as the update-thread calls them.
+ *
+ * @see Application#applicationUpdate(long)
+ * @see Application#applicationRender(float)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TickBenchmark {
+
+	/** The time-step of an update, 10 ms. */
+	private static final long STEP = TimeUnit.MILLISECONDS.toNanos(10);
+
+	/** The number of objects. */
+	@Param({ "100", "1000", "10000", "100000" })
+	public int objectCount;
+
+	/** The shape mix. */
+	@Param({ Scene.CIRCLES, Scene.MIXED })
+	public String shapeMix;
+
+	/** The renderer, java2d draws into the image, null draws nothing. */
+	@Param({ "java2d", "null" })
+	public String renderer;
+
+	/** The pipelined-flag, true if a render-thread draws the frames. */
+	@Param({ "false", "true" })
+	public boolean pipelined;
+
+	/** The application. */
+	private Application application;
+
+	/** The objects. */
+	private CanvasObject[] objects;
+
+	/** The number of the frame. */
+	private long frame;
+
+	/**
+	 * Creates the objects and draws them once.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		objects = Scene.populate(objectCount, shapeMix);
+		application = Scene.application();
+		if ("null".equals(renderer))
+			application.setRenderer(new NullRenderer());
+		application.setPipelined(pipelined);
+		tick();
+	}
+
+	/**
+	 * A tick without any change of the objects.
+	 */
+	@Benchmark
+	public void tick() {
+		application.applicationUpdate(STEP);
+		application.applicationRender(1f);
+	}
+
+	/**
+	 * A tick with every 16th object moved.
+	 */
+	@Benchmark
+	public void tickMoving() {
+		Scene.move(objects, 16, frame++);
+		application.applicationUpdate(STEP);
+		application.applicationRender(1f);
+	}
+
+	/**
+	 * A fixed time-step update without the redraw.
+	 */
+	@Benchmark
+	public void update() {
+		application.applicationUpdate(STEP);
+	}
+
+	/**
+	 * A redraw between two updates, as with the interpolation enabled.
+	 */
+	@Benchmark
+	public void render() {
+		application.applicationRender(0.5f);
+	}
+}
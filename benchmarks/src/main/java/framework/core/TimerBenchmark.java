@@ -0,0 +1,118 @@
+package framework.core;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.events.TimedControl;
+
+/**
+ * The Class TimerBenchmark measures the timer tick, the work the
+ * <code>TimerThread</code> does every millisecond to call the due timed
+ * controls.
+ *
+ * @see TimingWheel
+ * @see TimerThread
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerBenchmark {
+
+	/** The number of timed controls. */
+	@Param({ "10", "1000", "100000" })
+	public int timerCount;
+
+	/** The longest period of the controls in ticks, 1 calls all every tick. */
+	@Param({ "1", "100", "5000" })
+	public int maxPeriod;
+
+	/** The timing wheel. */
+	private TimingWheel timingWheel;
+
+	/** The event passed to the controls. */
+	private TimedEvent event;
+
+	/** The current tick. */
+	private long tick;
+
+	/** The number of calls of the controls, read to keep them alive. */
+	private long calls;
+
+	/**
+	 * Adds the controls with random periods.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		timingWheel = new TimingWheel();
+		event = new TimedEvent(this, 0L);
+		Random random = new Random(11);
+		for (int i = 0; i < timerCount; i++)
+			timingWheel.add(new Control(1 + random.nextInt(maxPeriod)));
+	}
+
+	/**
+	 * Advances the wheel by one tick.
+	 *
+	 * @return the number of calls so far
+	 */
+	@Benchmark
+	public long advance() {
+		timingWheel.advance(++tick, event);
+		return calls;
+	}
+
+	/**
+	 * The Class Control is a timed control that counts its calls.
+	 */
+	private final class Control implements TimedControl {
+
+		/** The period. */
+		private final int period;
+
+		/**
+		 * Instantiates a new control.
+		 *
+		 * @param period
+		 *            the period
+		 */
+		Control(int period) {
+			this.period = period;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.TimedControl#onTimedEvent(framework.core.TimedEvent)
+		 */
+		@Override
+		public void onTimedEvent(TimedEvent t) {
+			calls++;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see framework.events.TimedControl#getPeriod()
+		 */
+		@Override
+		public long getPeriod() {
+			return period;
+		}
+	}
+}
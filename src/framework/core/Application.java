@@ -35,19 +35,32 @@
  * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 package framework.core;
 
+import framework.interfaces.Collider;
+import framework.interfaces.ParallelUpdateable;
 import framework.interfaces.Updateable;
 
 import java.awt.Dimension;
 import java.awt.event.WindowEvent;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Set;
 import java.util.Timer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import framework.events.KeyboardControl;
+import framework.events.LoadingControl;
 import framework.events.MouseControl;
 import framework.events.TimedControl;
 import framework.events.WindowControl;
+import framework.recording.TickEvent;
 
 /**
  * The Class Application is a singleton for a window frame with separate
@@ -101,7 +114,7 @@ public final class Application {
 	 * </p>
 	 * <p>
 	 * The RUNNING state follows the initialization when the first
-	 * applicationTick() occurs.
+	 * applicationUpdate() occurs.
 	 * </p>
 	 * <p>
 	 * The PAUSED state will pause your application-refresh, call resume() to
@@ -132,7 +145,7 @@ public final class Application {
 
 		/**
 		 * The RUNNING state follows the initialization when the first
-		 * applicationTick() occurs.
+		 * applicationUpdate() occurs.
 		 */
 		RUNNING,
 
@@ -162,9 +175,27 @@ public final class Application {
 
 	/**
 	 * The update-objects of the application, UpdateObjects normally add
-	 * them-self into this List.
+	 * them-self into this registry.
 	 */
-	private ArrayList<Updateable> updateObjects;
+	private ObjectRegistry<Updateable> updateObjects;
+
+	/**
+	 * The runs of neighbouring parallel updateables in the update-objects, the
+	 * first and the after-last index of each run.
+	 */
+	private int[] parallelRuns = new int[0];
+
+	/** The number of runs of parallel updateables. */
+	private int parallelRunCount;
+
+	/** The parallelUpdate-flag, indicating if parallel updates are used. */
+	private volatile boolean parallelUpdate = false;
+
+	/** The pool for the parallel updates, created on demand. */
+	private ForkJoinPool updatePool;
+
+	/** The collision world checks the colliders after every update. */
+	private CollisionWorld collisionWorld;
 
 	/** The timer thread. */
 	private TimerThread timerThread;
@@ -172,11 +203,23 @@ public final class Application {
 	/** The timer. */
 	private Timer timer;
 
-	/** The time state measures time between two calls to applicationTick(). */
+	/** The time state measures time between two calls to applicationUpdate(). */
 	private Time timeState;
 
+	/** The keyboard, the one and only key-listener of the application. */
+	private Keyboard keyboard;
+
+	/** The frame stats, the durations of the phases of the frames. */
+	private FrameStats frameStats;
+
+	/** The number of updateable objects, for monitoring. */
+	private volatile int updateableCount;
+
+	/** The number of worker threads, for monitoring. */
+	private final AtomicInteger workerCount = new AtomicInteger();
+
 	/** The isRunning-flag, indicating the state of execution. */
-	private boolean isRunning = false;
+	private volatile boolean isRunning = false;
 
 	/** The application singleton. */
 	private static Application applicationSingleton;
@@ -187,35 +230,113 @@ public final class Application {
 	 */
 	private UpdateThread updateThread;
 
-	/** The loader function to execute. */
-	private LoaderFunction loaderFunction;
+	/** The loaders executed on the start, in the order of dependencies. */
+	private final LoaderGraph loaderGraph = new LoaderGraph(this);
+
+	/** The loading controls notified when all loaders are finished. */
+	private final CopyOnWriteArrayList<LoadingControl> loadingControls = new CopyOnWriteArrayList<LoadingControl>();
 
 	/** The worker thread set contains all working threads. */
-	private HashSet<WorkerThread> workerThreadSet;
+	private Set<WorkerThread> workerThreadSet;
+
+	/** The executor of the submitted tasks, created on demand. */
+	private TaskExecutor taskExecutor;
+
+	/** The default number of updates per second. */
+	public static final int DEFAULT_UPDATE_RATE = 60;
+
+	/**
+	 * The minimum number of parallel updateables updated by one task of the
+	 * update pool, shorter runs are updated on the update-thread.
+	 */
+	private static final int PARALLEL_THRESHOLD = 64;
+
+	/** The default number of renderings per second. */
+	public static final int DEFAULT_RENDER_RATE = 60;
+
+	/** The default maximum of updates in a row to catch up. */
+	public static final int DEFAULT_MAX_UPDATE_STEPS = 5;
+
+	/** The number of updates per second. */
+	private volatile int updateRate = DEFAULT_UPDATE_RATE;
+
+	/** The number of renderings per second, 0 renders after every update. */
+	private volatile int renderRate = DEFAULT_RENDER_RATE;
+
+	/** The maximum of updates in a row if the application falls behind. */
+	private volatile int maxUpdateSteps = DEFAULT_MAX_UPDATE_STEPS;
+
+	/** The freeRunning-flag, true if the updates do not wait for the clock. */
+	private volatile boolean freeRunning = false;
+
+	/** The interpolation-flag, true if frames are drawn between two updates. */
+	private volatile boolean interpolation = false;
 
 	/**
-	 * The Class LoaderFunction stores information for methods of classes.
+	 * The Class ParallelUpdate updates a range of parallel updateables, split
+	 * into smaller ranges for all cores of the update pool.
 	 */
-	class LoaderFunction {
+	private static class ParallelUpdate extends RecursiveAction {
+
+		/** The Constant serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** The objects to update. */
+		private final Object[] objects;
+
+		/** The first index of the range. */
+		private final int from;
 
-		/** The carrier object of a method. */
-		Object carrier;
+		/** The index after the last one of the range. */
+		private final int to;
 
-		/** The method of a given class. */
-		Method method;
+		/** The maximum range size updated without splitting. */
+		private final int threshold;
+
+		/** The time state passed to the objects. */
+		private final Time timeState;
 
 		/**
-		 * Instantiates a new loader function.
+		 * Instantiates a new parallel update.
 		 * 
-		 * @param carryer
-		 *            the instance of an object that carries the desired method
-		 *            <code>method</code>.
-		 * @param method
-		 *            the method to be stored
+		 * @param objects
+		 *            the objects
+		 * @param from
+		 *            the first index
+		 * @param to
+		 *            the index after the last one
+		 * @param threshold
+		 *            the maximum range size without splitting
+		 * @param timeState
+		 *            the time state
 		 */
-		public LoaderFunction(Object carrier, Method method) {
-			this.carrier = carrier;
-			this.method = method;
+		ParallelUpdate(Object[] objects, int from, int to,
+				int threshold, Time timeState) {
+			this.objects = objects;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.timeState = timeState;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				for (int i = from; i < to; i++) {
+					if (objects[i] != null)
+						((ParallelUpdateable) objects[i]).update(timeState);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new ParallelUpdate(objects, from, middle, threshold,
+						timeState), new ParallelUpdate(objects, middle, to,
+						threshold, timeState));
+			}
 		}
 	}
 
@@ -224,7 +345,7 @@ public final class Application {
 	 * 
 	 * @see Application.ApplicationState
 	 */
-	private ApplicationState state;
+	private volatile ApplicationState state;
 
 	/**
 	 * Gets the one and only application reference of the Application-class.
@@ -247,14 +368,17 @@ public final class Application {
 	private Application() {
 
 		timeState = new Time();
+		keyboard = new Keyboard();
+		frameStats = new FrameStats();
 
-		updateObjects = new ArrayList<Updateable>();
+		updateObjects = new ObjectRegistry<Updateable>();
+		collisionWorld = new CollisionWorld();
 		updateThread = new UpdateThread(this);
 
 		timerThread = new TimerThread(this);
 		timer = new Timer("TimerThread", true);
 
-		workerThreadSet = new HashSet<WorkerThread>();
+		workerThreadSet = ConcurrentHashMap.newKeySet();
 
 		state = ApplicationState.CREATED;
 		System.out.println("Application created! Need to initialize!");
@@ -280,12 +404,41 @@ public final class Application {
 			} else {
 				applicationCanvas = Canvas.getCanvas();
 			}
+			applicationCanvas.addKeyListener(keyboard);
+			applicationCanvas.setFrameStats(frameStats);
+			ApplicationMonitor.register(this);
 
 			addDefaultWindowControl();
 			System.out.println("Application initialized!");
 		}
 	}
 	
+	/**
+	 * Initializes the Application without a window, the canvas is drawn into
+	 * an image of the given size.
+	 * 
+	 * <p>
+	 * Use this for simulations, tests and benchmarks on machines without a
+	 * display. The canvas is headless anyway if there is no display (e.g. with
+	 * <code>java.awt.headless=true</code>), then <code>initialize()</code> is
+	 * enough. See <code>setFreeRunning(boolean)</code> to run as fast as
+	 * possible.
+	 * </p>
+	 * 
+	 * @param width
+	 *            the width of the image
+	 * @param height
+	 *            the height of the image
+	 * @see Canvas#getImage()
+	 */
+	public void initializeHeadless(int width, int height) {
+		if (state == ApplicationState.CREATED) {
+			Canvas.setAsHeadless(true);
+			initialize(null);
+			setDimensions(width, height);
+		}
+	}
+
 	/**
 	 * Initializes the Application as a JFrame.
 	 * 
@@ -318,7 +471,7 @@ public final class Application {
 			System.out.println("Application started!");
 			isRunning = true;
 
-			executeLoaderFunction();
+			loaderGraph.start();
 
 			if (!updateThread.isAlive())
 				updateThread.start();
@@ -407,12 +560,30 @@ public final class Application {
 			timer = null;
 		}
 
+		if (updatePool != null) {
+			updatePool.shutdownNow();
+			updatePool = null;
+		}
+
+		collisionWorld.clear();
+
+		loaderGraph.cancel();
+
 		for (WorkerThread w : workerThreadSet) {
 			if (w != null)
 				w.interrupt();
 		}
 		workerThreadSet.clear();
-		workerThreadSet = null;
+		workerCount.set(0);
+
+		synchronized (this) {
+			if (taskExecutor != null) {
+				taskExecutor.shutdown();
+				taskExecutor = null;
+			}
+		}
+
+		ApplicationMonitor.unregister();
 
 		System.out.println("Application terminating!");
 
@@ -443,6 +614,180 @@ public final class Application {
 		return isRunning;
 	}
 
+	/**
+	 * Sets the number of updates per second.
+	 * <p>
+	 * Every <code>update(Time time)</code> is called with the same time-step
+	 * of <code>1 / updateRate</code> seconds, no matter how long a single
+	 * update or drawing takes. The default is 60.
+	 * </p>
+	 * 
+	 * @param updateRate
+	 *            the updates per second, must be greater than zero
+	 */
+	public void setUpdateRate(int updateRate) {
+		if (updateRate <= 0) {
+			System.err.println("The update rate must be greater than zero!");
+			return;
+		}
+		this.updateRate = updateRate;
+	}
+
+	/**
+	 * Gets the number of updates per second.
+	 * 
+	 * @return the update rate
+	 */
+	public int getUpdateRate() {
+		return updateRate;
+	}
+
+	/**
+	 * Sets the number of renderings per second.
+	 * <p>
+	 * The canvas is redrawn independently of the updates with this rate. Use 0
+	 * to redraw once after every pass of updates. The default is 60.
+	 * </p>
+	 * 
+	 * @param renderRate
+	 *            the renderings per second, or 0 to couple it to the updates
+	 */
+	public void setRenderRate(int renderRate) {
+		if (renderRate < 0) {
+			System.err.println("The render rate must not be negative!");
+			return;
+		}
+		this.renderRate = renderRate;
+	}
+
+	/**
+	 * Gets the number of renderings per second.
+	 * 
+	 * @return the render rate, 0 if coupled to the updates
+	 */
+	public int getRenderRate() {
+		return renderRate;
+	}
+
+	/**
+	 * Sets the maximum number of updates made in a row if the application
+	 * falls behind. Time beyond that is dropped to keep the application
+	 * responsive. The default is 5.
+	 * 
+	 * @param maxUpdateSteps
+	 *            the maximum update steps, must be greater than zero
+	 */
+	public void setMaxUpdateSteps(int maxUpdateSteps) {
+		if (maxUpdateSteps <= 0) {
+			System.err
+					.println("The maximum of update steps must be greater than zero!");
+			return;
+		}
+		this.maxUpdateSteps = maxUpdateSteps;
+	}
+
+	/**
+	 * Gets the maximum number of updates made in a row.
+	 * 
+	 * @return the maximum update steps
+	 */
+	public int getMaxUpdateSteps() {
+		return maxUpdateSteps;
+	}
+
+	/**
+	 * Enables or disables the free running.
+	 * <p>
+	 * If enabled, the updates are made back to back as fast as possible,
+	 * without waiting for the clock. Every update still gets the time-step of
+	 * <code>1 / updateRate</code> seconds, so the simulated time runs faster
+	 * than the real time. The render rate is measured in simulated time. The
+	 * default is disabled.
+	 * </p>
+	 * 
+	 * @param freeRunning
+	 *            true to run the updates as fast as possible
+	 */
+	public void setFreeRunning(boolean freeRunning) {
+		this.freeRunning = freeRunning;
+	}
+
+	/**
+	 * Checks if the free running is enabled.
+	 * 
+	 * @return true, if the updates do not wait for the clock
+	 */
+	public boolean isFreeRunning() {
+		return freeRunning;
+	}
+
+	/**
+	 * Enables or disables the interpolation.
+	 * <p>
+	 * If enabled, every object saves its position before each update and the
+	 * frames rendered between two updates draw the objects between the saved
+	 * and the current position. So the logic may run with a low update rate,
+	 * e.g. 30, while the objects move smoothly with a higher render rate. The
+	 * drawn positions are one update behind the logic. Interpolated frames are
+	 * always redrawn completely. The default is disabled.
+	 * </p>
+	 * 
+	 * @param interpolation
+	 *            true to draw the objects between two updates
+	 * @see framework.objects.base.CanvasObject#prepareUpdate()
+	 * @see RenderContext#getAlpha()
+	 */
+	public void setInterpolation(boolean interpolation) {
+		this.interpolation = interpolation;
+	}
+
+	/**
+	 * Checks if the interpolation is enabled.
+	 * 
+	 * @return true, if the objects are drawn between two updates
+	 */
+	public boolean isInterpolation() {
+		return interpolation;
+	}
+
+	/**
+	 * Checks if the application has no window.
+	 * 
+	 * @return true, if the canvas is headless
+	 * @see #initializeHeadless(int, int)
+	 */
+	public boolean isHeadless() {
+		return Canvas.isHeadless();
+	}
+
+	/**
+	 * Enables or disables the parallel update.
+	 * <p>
+	 * The objects are always updated in the order they were added. If enabled,
+	 * neighbouring <code>ParallelUpdateable</code> objects in that order are
+	 * updated on all cores at once, the others on the update-thread. A run of
+	 * only a few parallel updateables is not worth the split and is updated on
+	 * the update-thread too. If disabled, all objects are updated one after
+	 * another. The default is disabled.
+	 * </p>
+	 * 
+	 * @param parallelUpdate
+	 *            true to update parallel updateables on all cores
+	 * @see ParallelUpdateable
+	 */
+	public void setParallelUpdate(boolean parallelUpdate) {
+		this.parallelUpdate = parallelUpdate;
+	}
+
+	/**
+	 * Checks if the parallel update is enabled.
+	 * 
+	 * @return true, if parallel updateables are updated on all cores
+	 */
+	public boolean isParallelUpdate() {
+		return parallelUpdate;
+	}
+
 	/**
 	 * Checks if the application is an applet.
 	 * 
@@ -466,52 +811,149 @@ public final class Application {
 	}
 
 	/**
-	 * Adds a loading function that will be executed before application starts.
+	 * Adds a loading function that will be executed when the application
+	 * starts, after all its dependencies are loaded.
+	 * <p>
+	 * Any number of loading functions can be added. Functions without a
+	 * dependency between them are executed in parallel, each as a task, see
+	 * <code>submit(Callable)</code>. If a function fails, all functions
+	 * depending on it are skipped. Functions added after the start are
+	 * executed as soon as their dependencies are loaded.
+	 * </p>
 	 * 
 	 * @param carryer
 	 *            the instance of an object that has a function described by
 	 *            'functionName' string
 	 * @param functionName
 	 *            the name of the function to execute
+	 * @param dependencies
+	 *            the loaders that must be loaded before
+	 * @return the loader of the function, null if there is no such function
+	 * @see #getLoadingProgress()
+	 * @see #addLoadingControl(LoadingControl)
 	 */
-	public void addLoadingFunction(Object carryer, String functionName) {
-		loaderFunction = null;
+	public Loader addLoadingFunction(Object carryer, String functionName,
+			Loader... dependencies) {
+		Method method = WorkerThread.findFunction(carryer, functionName);
+		if (method == null)
+			return null;
+		// bound once, not looked up again on the call
+		Callable<?> function = WorkerThread.bind(carryer, method);
+		if (function == null)
+			return null;
+		return loaderGraph.add(new Loader(function, carryer.getClass(),
+				functionName, dependencies));
+	}
 
-		Method method = null;
-		try {
-			method = carryer.getClass().getDeclaredMethod(functionName,
-					new Class[0]);
-		} catch (NullPointerException e) {
-			e.printStackTrace();
-			System.err.println("No function name given!");
-			return;
-		} catch (NoSuchMethodException e) {
-			e.printStackTrace();
-			System.err.println("No matching method found!");
-			return;
-		} catch (SecurityException e) {
-			e.printStackTrace();
-			System.err
-					.println("SecurityException thrown! See 'getDeclaredMethod()' in 'Class' for more.");
-			return;
-		} finally {
-			loaderFunction = new LoaderFunction(carryer, method);
+	/**
+	 * Adds a loading function that will be executed when the application
+	 * starts, after all its dependencies are loaded, e.g. a lambda.
+	 * 
+	 * @param loader
+	 *            the loading function
+	 * @param dependencies
+	 *            the loaders that must be loaded before
+	 * @return the loader of the function, null if there is none
+	 * @see #addLoadingFunction(Object, String, Loader...)
+	 */
+	public Loader addLoadingFunction(Runnable loader, Loader... dependencies) {
+		if (loader == null) {
+			System.err.println("No loading function given!");
+			return null;
 		}
+		return loaderGraph.add(new Loader(Executors.callable(loader), loader
+				.getClass(), "run", dependencies));
+	}
 
+	/**
+	 * Gets the part of the loading functions that are finished.
+	 * 
+	 * @return the progress between 0 and 1, 1 if there are none
+	 */
+	public float getLoadingProgress() {
+		return loaderGraph.getProgress();
 	}
 
 	/**
-	 * Executes the loader function.
+	 * Checks if the application was started and all loading functions are
+	 * finished.
+	 * 
+	 * @return true, if everything is loaded
 	 */
-	private void executeLoaderFunction() {
-		if (loaderFunction == null)
-			return;
+	public boolean isLoaded() {
+		return loaderGraph.isLoaded();
+	}
+
+	/**
+	 * Adds a loading control, notified on the update-thread when all loading
+	 * functions are finished.
+	 * 
+	 * @param control
+	 *            the control
+	 */
+	public void addLoadingControl(LoadingControl control) {
+		loadingControls.addIfAbsent(control);
+	}
 
-		WorkerThread worker;
+	/**
+	 * Removes a loading control.
+	 * 
+	 * @param control
+	 *            the control
+	 */
+	public void removeLoadingControl(LoadingControl control) {
+		loadingControls.remove(control);
+	}
 
-		worker = new WorkerThread(loaderFunction);
+	/**
+	 * Notifies the loading controls, if all loading functions finished since
+	 * the last call.
+	 */
+	private void dispatchLoaded() {
+		if (!loaderGraph.pollLoaded())
+			return;
+		for (LoadingControl control : loadingControls)
+			control.onLoaded();
+	}
 
-		worker.start();
+	/**
+	 * Submits a task that runs in the background, e.g. to load assets or data
+	 * without blocking the updates.
+	 * <p>
+	 * If the Java runtime has virtual threads, every task runs on a virtual
+	 * thread of its own, so even thousands of tasks waiting for I/O at once
+	 * are cheap. Otherwise the tasks share a bounded pool of daemon threads.
+	 * All tasks that are not done yet are cancelled on
+	 * <code>terminate()</code>, running tasks are interrupted. This method is
+	 * safe to call from every thread.
+	 * </p>
+	 * 
+	 * @param <T>
+	 *            the type of the result
+	 * @param task
+	 *            the task
+	 * @return the future of the result, already cancelled if the application
+	 *         was terminated, null if the task is null
+	 * @see WorkerThread
+	 */
+	public <T> Future<T> submit(Callable<T> task) {
+		if (task == null) {
+			System.err.println("The task must not be null!");
+			return null;
+		}
+		TaskExecutor executor;
+		synchronized (this) {
+			// terminate() shuts the executor down under this lock
+			if (state == ApplicationState.EXITING) {
+				FutureTask<T> future = new FutureTask<T>(task);
+				future.cancel(false);
+				return future;
+			}
+			if (taskExecutor == null)
+				taskExecutor = new TaskExecutor();
+			executor = taskExecutor;
+		}
+		return executor.submit(task);
 	}
 
 	/**
@@ -525,7 +967,10 @@ public final class Application {
 	 * @see WorkerThread
 	 */
 	boolean addWorkerThread(WorkerThread worker) {
-		return workerThreadSet.add(worker);
+		boolean added = workerThreadSet.add(worker);
+		if (added)
+			workerCount.incrementAndGet();
+		return added;
 	}
 
 	/**
@@ -538,11 +983,18 @@ public final class Application {
 	 * @see WorkerThread
 	 */
 	boolean removeWorkerThread(WorkerThread worker) {
-		return workerThreadSet.remove(worker);
+		boolean removed = workerThreadSet.remove(worker);
+		if (removed)
+			workerCount.decrementAndGet();
+		return removed;
 	}
 
 	/**
 	 * Adds a specific update object.
+	 * <p>
+	 * The object is updated from the next tick on, so this method is safe to
+	 * call from every thread.
+	 * </p>
 	 * 
 	 * @param updateObject
 	 *            the update object
@@ -560,6 +1012,10 @@ public final class Application {
 	 * <code>CanvasObject</code> also will be added automatically through a call
 	 * to <code>super()</code> in their constructor.
 	 * </p>
+	 * <p>
+	 * The object is removed at the start of the next tick, so this method is
+	 * safe to call from every thread, even during an update.
+	 * </p>
 	 * 
 	 * @param updateObject
 	 *            the update object to remove
@@ -568,6 +1024,33 @@ public final class Application {
 		updateObjects.remove(updateObject);
 	}
 
+	/**
+	 * Adds a collider to the collision world, it is checked against all other
+	 * colliders after every update.
+	 * <p>
+	 * All <code>UpdateObjects</code> that implement <code>Collider</code> are
+	 * added automatically. The collider is added at the end of the next update,
+	 * so this method is safe to call from every thread.
+	 * </p>
+	 * 
+	 * @param collider
+	 *            the collider
+	 * @see Collider
+	 */
+	public void addCollisionObject(Collider collider) {
+		collisionWorld.add(collider);
+	}
+
+	/**
+	 * Removes a collider from the collision world.
+	 * 
+	 * @param collider
+	 *            the collider
+	 */
+	public void removeCollisionObject(Collider collider) {
+		collisionWorld.remove(collider);
+	}
+
 	/**
 	 * Adds the timed object.
 	 * 
@@ -594,49 +1077,142 @@ public final class Application {
 
 	/**
 	 * Updates all objects that where created an are visible.
+	 * <p>
+	 * The objects are updated in the order they were added. If the parallel
+	 * update is enabled, each run of neighbouring parallel updateables is split
+	 * across the cores of the update pool at its place in that order. This
+	 * method returns not until all of them are updated, so the canvas is never
+	 * drawn while an update is still running.
+	 * </p>
+	 * <p>
+	 * After all updates the colliders are checked for collisions.
+	 * </p>
 	 * 
 	 * @param timeState
 	 *            the time state
 	 * @see Time
+	 * @see ParallelUpdateable
 	 */
-	private synchronized void updateObjects(Time timeState) {
-		@SuppressWarnings("unchecked")
-		ArrayList<Updateable> cloned = (ArrayList<Updateable>) updateObjects
-				.clone();
+	private void updateObjects(Time timeState) {
+		// apply all adds and removes since the last tick
+		if (updateObjects.applyPending()) {
+			updateableCount = updateObjects.size();
+			findParallelRuns();
+		}
 
-		for (Updateable u : cloned) {
-			if (u != null)
-				u.update(timeState);
+		int count = updateObjects.size();
+		int next = 0;
+		if (parallelUpdate && parallelRunCount > 0) {
+			if (updatePool == null)
+				updatePool = new ForkJoinPool();
+			Object[] objects = updateObjects.array();
+			for (int run = 0; run < parallelRunCount; run++) {
+				int from = parallelRuns[2 * run];
+				int to = parallelRuns[2 * run + 1];
+				for (int i = next; i < from; i++) {
+					updateObjects.get(i).update(timeState);
+				}
+				int threshold = Math.max(PARALLEL_THRESHOLD, (to - from)
+						/ (updatePool.getParallelism() * 4));
+				updatePool.invoke(new ParallelUpdate(objects, from, to,
+						threshold, timeState));
+				next = to;
+			}
 		}
+		for (int i = next; i < count; i++) {
+			updateObjects.get(i).update(timeState);
+		}
+
+		collisionWorld.step();
 	}
 
 	/**
-	 * The application tick is called by the <code>UpdateThread</code>.
-	 * 
-	 * <p>
-	 * This is the main loop method, means this method is called every time
-	 * until the frame closes. First time it updates all your objects that need
-	 * a update (by calling its <code>update()</code>-method). Than it calls all
-	 * your objects <code>draw()</code>-methods.
-	 * </p>
+	 * Finds the runs of neighbouring parallel updateables in the update order,
+	 * called when the update-objects have changed. Runs too short to be split
+	 * across the cores are left out.
+	 */
+	private void findParallelRuns() {
+		int count = updateObjects.size();
+		int runs = 0;
+		int i = 0;
+		while (i < count) {
+			if (!(updateObjects.get(i) instanceof ParallelUpdateable)) {
+				i++;
+				continue;
+			}
+			int from = i;
+			while (i < count
+					&& updateObjects.get(i) instanceof ParallelUpdateable)
+				i++;
+			if (i - from <= PARALLEL_THRESHOLD)
+				continue;
+			if (parallelRuns.length < 2 * runs + 2)
+				parallelRuns = Arrays.copyOf(parallelRuns,
+						Math.max(8, parallelRuns.length * 2));
+			parallelRuns[2 * runs] = from;
+			parallelRuns[2 * runs + 1] = i;
+			runs++;
+		}
+		parallelRunCount = runs;
+	}
+
+	/**
+	 * Updates all objects with a fixed time-step, called by the
+	 * <code>UpdateThread</code>.
 	 * 
+	 * @param stepNanos
+	 *            the time-step in nanoseconds
 	 * @see UpdateThread
 	 * @see Time
-	 * @see Canvas
-	 * 
 	 */
-	protected void applicationTick() {
+	protected void applicationUpdate(long stepNanos) {
 		state = ApplicationState.RUNNING;
 
-		timeState.begin();
-		updateObjects(timeState);
-
-		synchronized (applicationCanvas) {
-			applicationCanvas.redraw();
+		TickEvent event = TickEvent.start();
+		long start = System.nanoTime();
+		if (interpolation) {
+			Canvas canvas = applicationCanvas;
+			if (canvas != null)
+				canvas.prepareUpdate();
 		}
-
+		dispatchLoaded();
+		keyboard.dispatch();
+		long time = frameStats.record(FrameStats.Phase.INPUT, start);
+		timeState.beginStep(stepNanos);
+		updateObjects(timeState);
 		timeState.end();
+		frameStats.record(FrameStats.Phase.UPDATE, time);
+		if (event != null)
+			event.finish(stepNanos, updateableCount);
+	}
 
+	/**
+	 * Redraws the canvas, called by the <code>UpdateThread</code>.
+	 * 
+	 * @see UpdateThread
+	 * @see Canvas
+	 */
+	protected void applicationRender() {
+		applicationRender(1f);
+	}
+
+	/**
+	 * Redraws the canvas between the last two updates, called by the
+	 * <code>UpdateThread</code> if the interpolation is enabled.
+	 * 
+	 * @param alpha
+	 *            the interpolation between the previous update, 0, and the
+	 *            last one, 1
+	 * @see #setInterpolation(boolean)
+	 */
+	protected void applicationRender(float alpha) {
+		// the canvas is gone if the application was terminated meanwhile
+		Canvas canvas = applicationCanvas;
+		if (canvas == null)
+			return;
+		synchronized (canvas) {
+			canvas.redraw(alpha);
+		}
 	}
 
 	// *******************************************************************************
@@ -655,6 +1231,121 @@ public final class Application {
 		applicationCanvas.setDimensions(width, height);
 	}
 
+	/**
+	 * Enables or disables the active rendering, the canvas is presented by the
+	 * update-thread with a <code>BufferStrategy</code> instead of a repaint by
+	 * Swing. Not available for applets.
+	 * 
+	 * @param activeRendering
+	 *            true to enable the active rendering
+	 * @see Canvas#setActiveRendering(boolean)
+	 */
+	public void setActiveRendering(boolean activeRendering) {
+		if (applicationCanvas == null) {
+			System.err
+					.println("The Application is not initialized! Please call initialize() before setActiveRendering()!");
+			return;
+		}
+		applicationCanvas.setActiveRendering(activeRendering);
+	}
+
+	/**
+	 * Checks if the active rendering is enabled.
+	 * 
+	 * @return true, if the canvas is presented by the update-thread
+	 */
+	public boolean isActiveRendering() {
+		return applicationCanvas != null
+				&& applicationCanvas.isActiveRendering();
+	}
+
+	/**
+	 * Enables or disables the pipelined mode, in which a render-thread draws
+	 * and shows each frame while the update-thread already updates the objects
+	 * for the next one. This uses a second core for the drawing.
+	 * 
+	 * <p>
+	 * The redraw only records what the objects draw through the
+	 * <code>RenderContext</code>, so the objects must not draw with its
+	 * graphics. The direct drawing methods of the canvas do nothing outside
+	 * of the redraw in the pipelined mode.
+	 * </p>
+	 * 
+	 * @param pipelined
+	 *            true, to draw the frames on a render-thread
+	 */
+	public void setPipelined(boolean pipelined) {
+		if (applicationCanvas == null) {
+			System.err
+					.println("The Application is not initialized! Please call initialize() before setPipelined()!");
+			return;
+		}
+		applicationCanvas.setPipelined(pipelined);
+	}
+
+	/**
+	 * Checks if the pipelined mode is enabled.
+	 * 
+	 * @return true, if a render-thread draws the frames
+	 */
+	public boolean isPipelined() {
+		return applicationCanvas != null && applicationCanvas.isPipelined();
+	}
+
+	/**
+	 * Enables or disables the partial redraw, only the areas of the canvas
+	 * where objects have changed are redrawn and repainted.
+	 * 
+	 * @param partialRedraw
+	 *            true to enable the partial redraw
+	 * @see Canvas#setPartialRedraw(boolean)
+	 */
+	public void setPartialRedraw(boolean partialRedraw) {
+		if (applicationCanvas == null) {
+			System.err
+					.println("The Application is not initialized! Please call initialize() before setPartialRedraw()!");
+			return;
+		}
+		applicationCanvas.setPartialRedraw(partialRedraw);
+	}
+
+	/**
+	 * Checks if the partial redraw is enabled.
+	 * 
+	 * @return true, if only the changed areas are redrawn
+	 */
+	public boolean isPartialRedraw() {
+		return applicationCanvas != null
+				&& applicationCanvas.isPartialRedraw();
+	}
+
+	/**
+	 * Sets the renderer that draws the canvas, e.g. a
+	 * <code>NullRenderer</code> to measure the pure update cost.
+	 * 
+	 * @param renderer
+	 *            the renderer
+	 * @see Renderer
+	 */
+	public void setRenderer(Renderer renderer) {
+		if (applicationCanvas == null) {
+			System.err
+					.println("The Application is not initialized! Please call initialize() before setRenderer()!");
+			return;
+		}
+		applicationCanvas.setRenderer(renderer);
+	}
+
+	/**
+	 * Gets the renderer that draws the canvas.
+	 * 
+	 * @return the renderer, null if not initialized
+	 */
+	public Renderer getRenderer() {
+		return applicationCanvas != null ? applicationCanvas.getRenderer()
+				: null;
+	}
+
 	/**
 	 * Gets the dimensions of the canvas.
 	 * 
@@ -685,23 +1376,107 @@ public final class Application {
 	}
 
 	/**
-	 * Adds the keyboard control to the listeners of the frame.
+	 * Gets the keyboard, use it to check which keys are held down.
+	 * 
+	 * @return the keyboard
+	 * @see Keyboard
+	 */
+	public Keyboard getKeyboard() {
+		return keyboard;
+	}
+
+	/**
+	 * Gets the frame stats, the durations of the updates, redraws and timer
+	 * runs of the last second.
+	 * 
+	 * @return the frame stats
+	 * @see FrameStats
+	 */
+	public FrameStats getFrameStats() {
+		return frameStats;
+	}
+
+	/**
+	 * Gets the number of updateable objects after the last update.
+	 * 
+	 * @return the updateable count
+	 */
+	int getUpdateableCount() {
+		return updateableCount;
+	}
+
+	/**
+	 * Gets the number of objects drawn by the last redraw.
+	 * 
+	 * @return the canvas object count
+	 */
+	int getCanvasObjectCount() {
+		Canvas canvas = applicationCanvas;
+		return canvas != null ? canvas.getObjectCount() : 0;
+	}
+
+	/**
+	 * Gets the number of timed controls after the last timer run.
+	 * 
+	 * @return the timer count
+	 */
+	int getTimerCount() {
+		TimerThread timer = timerThread;
+		return timer != null ? timer.getTimerCount() : 0;
+	}
+
+	/**
+	 * Gets the number of worker threads and submitted tasks that are not done
+	 * yet.
+	 * 
+	 * @return the worker count
+	 */
+	int getWorkerCount() {
+		TaskExecutor executor = taskExecutor;
+		return workerCount.get()
+				+ (executor != null ? executor.getPendingCount() : 0);
+	}
+
+	/**
+	 * Adds the keyboard control to the listeners of all keys.
+	 * <p>
+	 * The key-events are delivered at the start of the next update, on the
+	 * update-thread.
+	 * </p>
 	 * 
 	 * @param control
 	 *            the control to add
+	 * @see Keyboard
 	 */
 	public void addKeyboardControl(KeyboardControl control) {
-		applicationCanvas.addKeyboardControl(control);
+		keyboard.subscribe(control);
+	}
+
+	/**
+	 * Adds the keyboard control to the listeners of the given keys only.
+	 * <p>
+	 * The key-events are delivered at the start of the next update, on the
+	 * update-thread.
+	 * </p>
+	 * 
+	 * @param control
+	 *            the control to add
+	 * @param keyCodes
+	 *            the key-codes, e.g. <code>KeyEvent.VK_SPACE</code>
+	 * @see Keyboard
+	 */
+	public void addKeyboardControl(KeyboardControl control, int... keyCodes) {
+		keyboard.subscribe(control, keyCodes);
 	}
 
 	/**
-	 * Removes the keyboard control from the listeners of the canvas.
+	 * Removes the keyboard control from the listeners of all keys.
 	 * 
 	 * @param control
 	 *            the control to remove
 	 */
 	public void removeKeyboardControl(KeyboardControl control) {
-		applicationCanvas.removeKeyboardControl(control);
+		keyboard.unsubscribe(control);
 	}
 
 	/**
@@ -0,0 +1,222 @@
+package framework.core;
+
+/**
+ * The Interface ApplicationMXBean is the management interface of the
+ * application, it is registered as <code>framework.core:type=Application</code>
+ * in the platform MBean server when the application is initialized.
+ * 
+ * <p>
+ * Connect with any JMX client, e.g. <code>jconsole</code>, to watch a running
+ * application. All durations are in nanoseconds and cover the last complete
+ * window of the <code>FrameStats</code>, one second by default.
+ * </p>
+ * 
+ * @see FrameStats
+ */
+public interface ApplicationMXBean {
+
+	/**
+	 * Gets the state of the application.
+	 * 
+	 * @return the state, e.g. <code>RUNNING</code>
+	 * @see Application#getState()
+	 */
+	public String getState();
+
+	/**
+	 * Checks if the application-loop is running.
+	 * 
+	 * @return true, if running
+	 */
+	public boolean isRunning();
+
+	/**
+	 * Gets the measured number of updates per second.
+	 * 
+	 * @return the tick rate
+	 */
+	public double getTickRate();
+
+	/**
+	 * Gets the number of updates per second the application aims for.
+	 * 
+	 * @return the target tick rate
+	 * @see Application#getUpdateRate()
+	 */
+	public int getTargetTickRate();
+
+	/**
+	 * Sets the number of updates per second the application aims for.
+	 * 
+	 * @param tickRate
+	 *            the new target tick rate
+	 * @see Application#setUpdateRate(int)
+	 */
+	public void setTargetTickRate(int tickRate);
+
+	/**
+	 * Gets the measured number of frames per second.
+	 * 
+	 * @return the frame rate
+	 */
+	public double getFrameRate();
+
+	/**
+	 * Gets the number of frames per second the application aims for, 0 if a
+	 * frame is drawn after every update.
+	 * 
+	 * @return the target frame rate
+	 * @see Application#getRenderRate()
+	 */
+	public int getTargetFrameRate();
+
+	/**
+	 * Sets the number of frames per second the application aims for.
+	 * 
+	 * @param frameRate
+	 *            the new target frame rate, 0 to draw after every update
+	 * @see Application#setRenderRate(int)
+	 */
+	public void setTargetFrameRate(int frameRate);
+
+	/**
+	 * Gets the median time of a frame.
+	 * 
+	 * @return the median in nanoseconds
+	 */
+	public long getFrameTimeP50();
+
+	/**
+	 * Gets the 99th percentile of the time of a frame.
+	 * 
+	 * @return the 99th percentile in nanoseconds
+	 */
+	public long getFrameTimeP99();
+
+	/**
+	 * Gets the longest time of a frame.
+	 * 
+	 * @return the maximum in nanoseconds
+	 */
+	public long getFrameTimeMax();
+
+	/**
+	 * Gets the 99th percentile of the time of an update of all objects.
+	 * 
+	 * @return the 99th percentile in nanoseconds
+	 */
+	public long getUpdateTimeP99();
+
+	/**
+	 * Gets the 99th percentile of the time of a redraw.
+	 * 
+	 * @return the 99th percentile in nanoseconds
+	 */
+	public long getRedrawTimeP99();
+
+	/**
+	 * Gets the 99th percentile of the time to show a frame.
+	 * 
+	 * @return the 99th percentile in nanoseconds
+	 */
+	public long getPresentTimeP99();
+
+	/**
+	 * Gets the 99th percentile of the time of a timer run.
+	 * 
+	 * @return the 99th percentile in nanoseconds
+	 */
+	public long getTimerTimeP99();
+
+	/**
+	 * Gets the number of updateable objects.
+	 * 
+	 * @return the count
+	 */
+	public int getUpdateableCount();
+
+	/**
+	 * Gets the number of objects drawn on the canvas.
+	 * 
+	 * @return the count
+	 */
+	public int getCanvasObjectCount();
+
+	/**
+	 * Gets the number of timed controls.
+	 * 
+	 * @return the count
+	 */
+	public int getTimerCount();
+
+	/**
+	 * Gets the number of worker threads and submitted tasks that are not done
+	 * yet.
+	 * 
+	 * @return the count
+	 */
+	public int getWorkerCount();
+
+	/**
+	 * Gets the number of frames skipped because the application fell behind.
+	 * 
+	 * @return the count since the start
+	 */
+	public long getDroppedFrames();
+
+	/**
+	 * Gets the number of updates skipped because the application fell behind
+	 * more than the maximum of updates in a row.
+	 * 
+	 * @return the count since the start
+	 * @see Application#setMaxUpdateSteps(int)
+	 */
+	public long getDroppedUpdates();
+
+	/**
+	 * Gets the number of frames that took longer than the frame budget.
+	 * 
+	 * @return the count since the start
+	 * @see FrameStats#setFrameBudget(long, java.util.concurrent.TimeUnit)
+	 */
+	public long getFrameBudgetViolations();
+
+	/**
+	 * Gets the number of key-events dropped because they were not delivered
+	 * in time.
+	 * 
+	 * @return the count since the start
+	 */
+	public long getDroppedKeyEvents();
+
+	/**
+	 * Checks if the flight recorder events of the framework are created.
+	 * 
+	 * @return true, if the events are switched on
+	 * @see framework.recording.FrameworkEvents
+	 */
+	public boolean isFlightEventsEnabled();
+
+	/**
+	 * Switches the flight recorder events of the framework on or off.
+	 * 
+	 * @param enabled
+	 *            true, to create the events
+	 * @see framework.recording.FrameworkEvents
+	 */
+	public void setFlightEventsEnabled(boolean enabled);
+
+	/**
+	 * Pauses the application-loop.
+	 * 
+	 * @see Application#pause()
+	 */
+	public void pause();
+
+	/**
+	 * Resumes the application-loop.
+	 * 
+	 * @see Application#resume()
+	 */
+	public void resume();
+}
@@ -0,0 +1,358 @@
+package framework.core;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import framework.core.FrameStats.Phase;
+import framework.recording.FrameworkEvents;
+
+/**
+ * The Class ApplicationMonitor is the MBean of the application. It only reads
+ * counters the application keeps anyway, nothing is measured for it.
+ * 
+ * @see ApplicationMXBean
+ */
+final class ApplicationMonitor implements ApplicationMXBean {
+
+	/** The name the MBean is registered with. */
+	static final String OBJECT_NAME = "framework.core:type=Application";
+
+	/** The application. */
+	private final Application application;
+
+	/**
+	 * Instantiates a new application monitor.
+	 * 
+	 * @param application
+	 *            the application
+	 */
+	private ApplicationMonitor(Application application) {
+		this.application = application;
+	}
+
+	/**
+	 * Registers the MBean of an application in the platform MBean server, an
+	 * MBean of an earlier application is replaced.
+	 * 
+	 * @param application
+	 *            the application
+	 */
+	static void register(Application application) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name))
+				server.unregisterMBean(name);
+			server.registerMBean(new ApplicationMonitor(application), name);
+		} catch (JMException e) {
+			System.err.println("The application MBean could not be registered: "
+					+ e.getMessage());
+		} catch (SecurityException e) {
+			// e.g. in an applet
+			System.err.println("The application MBean could not be registered: "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * Unregisters the MBean of the application.
+	 */
+	static void unregister() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name))
+				server.unregisterMBean(name);
+		} catch (JMException e) {
+			System.err.println("The application MBean could not be unregistered: "
+					+ e.getMessage());
+		} catch (SecurityException e) {
+			System.err.println("The application MBean could not be unregistered: "
+					+ e.getMessage());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getState()
+	 */
+	@Override
+	public String getState() {
+		return String.valueOf(application.getState());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#isRunning()
+	 */
+	@Override
+	public boolean isRunning() {
+		return application.isRunning();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getTickRate()
+	 */
+	@Override
+	public double getTickRate() {
+		return snapshot(Phase.UPDATE).getRate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getTargetTickRate()
+	 */
+	@Override
+	public int getTargetTickRate() {
+		return application.getUpdateRate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#setTargetTickRate(int)
+	 */
+	@Override
+	public void setTargetTickRate(int tickRate) {
+		application.setUpdateRate(tickRate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getFrameRate()
+	 */
+	@Override
+	public double getFrameRate() {
+		return snapshot(Phase.FRAME).getRate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getTargetFrameRate()
+	 */
+	@Override
+	public int getTargetFrameRate() {
+		return application.getRenderRate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#setTargetFrameRate(int)
+	 */
+	@Override
+	public void setTargetFrameRate(int frameRate) {
+		application.setRenderRate(frameRate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getFrameTimeP50()
+	 */
+	@Override
+	public long getFrameTimeP50() {
+		return snapshot(Phase.FRAME).getP50();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getFrameTimeP99()
+	 */
+	@Override
+	public long getFrameTimeP99() {
+		return snapshot(Phase.FRAME).getP99();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getFrameTimeMax()
+	 */
+	@Override
+	public long getFrameTimeMax() {
+		return snapshot(Phase.FRAME).getMax();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getUpdateTimeP99()
+	 */
+	@Override
+	public long getUpdateTimeP99() {
+		return snapshot(Phase.UPDATE).getP99();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getRedrawTimeP99()
+	 */
+	@Override
+	public long getRedrawTimeP99() {
+		return snapshot(Phase.REDRAW).getP99();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getPresentTimeP99()
+	 */
+	@Override
+	public long getPresentTimeP99() {
+		return snapshot(Phase.PRESENT).getP99();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getTimerTimeP99()
+	 */
+	@Override
+	public long getTimerTimeP99() {
+		return snapshot(Phase.TIMER).getP99();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getUpdateableCount()
+	 */
+	@Override
+	public int getUpdateableCount() {
+		return application.getUpdateableCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getCanvasObjectCount()
+	 */
+	@Override
+	public int getCanvasObjectCount() {
+		return application.getCanvasObjectCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getTimerCount()
+	 */
+	@Override
+	public int getTimerCount() {
+		return application.getTimerCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getWorkerCount()
+	 */
+	@Override
+	public int getWorkerCount() {
+		return application.getWorkerCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getDroppedFrames()
+	 */
+	@Override
+	public long getDroppedFrames() {
+		return application.getFrameStats().getDroppedFrames();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getDroppedUpdates()
+	 */
+	@Override
+	public long getDroppedUpdates() {
+		return application.getFrameStats().getDroppedUpdates();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getFrameBudgetViolations()
+	 */
+	@Override
+	public long getFrameBudgetViolations() {
+		return application.getFrameStats().getBudgetViolations();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#getDroppedKeyEvents()
+	 */
+	@Override
+	public long getDroppedKeyEvents() {
+		return application.getKeyboard().getDroppedEvents();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#isFlightEventsEnabled()
+	 */
+	@Override
+	public boolean isFlightEventsEnabled() {
+		return FrameworkEvents.isEnabled();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#setFlightEventsEnabled(boolean)
+	 */
+	@Override
+	public void setFlightEventsEnabled(boolean enabled) {
+		FrameworkEvents.setEnabled(enabled);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#pause()
+	 */
+	@Override
+	public void pause() {
+		application.pause();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.core.ApplicationMXBean#resume()
+	 */
+	@Override
+	public void resume() {
+		application.resume();
+	}
+
+	/**
+	 * Gets the snapshot of a phase of the last window.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @return the snapshot
+	 */
+	private FrameStats.Snapshot snapshot(Phase phase) {
+		return application.getFrameStats().getSnapshot(phase);
+	}
+}
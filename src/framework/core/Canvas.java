@@ -38,13 +38,15 @@ package framework.core;
 import javax.swing.*;
 
 //import framework.core.jit3d.JITCanvas3D;
-import framework.events.KeyboardControl;
 import framework.events.MouseControl;
 import framework.events.WindowControl;
 
 import framework.objects.base.CanvasObject;
+import framework.recording.RedrawEvent;
 
 import java.awt.*;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferStrategy;
 import java.util.*;
 
 /**
@@ -79,6 +81,9 @@ public class Canvas {
 	/** The is applet. */
 	private static boolean isApplet = false;
 
+	/** The is headless, true if the canvas has no window. */
+	private static boolean isHeadless = GraphicsEnvironment.isHeadless();
+
 	/**
 	 * Factory method to get the canvas singleton object.
 	 * 
@@ -86,7 +91,10 @@ public class Canvas {
 	 */
 	public static Canvas getCanvas() {
 		if (canvasSingleton == null) {
-			canvasSingleton = new Canvas("No Title", 300, 300, Color.white);
+			if (isHeadless)
+				canvasSingleton = new Canvas(300, 300, Color.white);
+			else
+				canvasSingleton = new Canvas("No Title", 300, 300, Color.white);
 		}
 		canvasSingleton.setVisible(true);
 		return canvasSingleton;
@@ -118,6 +126,30 @@ public class Canvas {
 		isApplet = value;
 	}
 
+	/**
+	 * As headless, must be called before the canvas is created. Without a
+	 * display the canvas is always headless.
+	 * 
+	 * @param value
+	 *            the value
+	 */
+	static void setAsHeadless(boolean value) {
+		if (canvasSingleton != null) {
+			System.err.println("The canvas is already created!");
+			return;
+		}
+		isHeadless = value || GraphicsEnvironment.isHeadless();
+	}
+
+	/**
+	 * Checks if the canvas is headless.
+	 * 
+	 * @return true, if the canvas has no window
+	 */
+	static boolean isHeadless() {
+		return isHeadless;
+	}
+
 	// ----- instance part -----
 
 	/** The applet. */
@@ -137,21 +169,123 @@ public class Canvas {
 	/** The canvas. */
 	private CanvasPane canvas;
 
-	/** The graphic. */
-	private Graphics2D graphic;
+	/** The renderer that draws the canvas image. */
+	private Renderer renderer;
+
+	/** The surfaceCreated-flag, true after the image was created. */
+	private boolean surfaceCreated = false;
 
 	/** The background colour. */
 	private Color backgroundColor;
 
-	/** The canvas image. */
-	private Image canvasImage;
+	/** The foreground colour, used by the direct drawing methods. */
+	private Color foregroundColor = Color.black;
+
+	/** The font, used by the direct drawing methods. */
+	private Font font = new Font("Dialog", Font.PLAIN, 12);
+
+	/** The objects on the canvas. */
+	private ObjectRegistry<CanvasObject> objects;
+
+	/** The objects in the order they are drawn, the first drawCount. */
+	private CanvasObject[] drawOrder;
+
+	/** The draw keys of the objects, same order as drawOrder. */
+	private long[] drawKeys;
+
+	/** The number of objects in the draw order. */
+	private int drawCount;
 
-	/** The objects. */
-	private ArrayList<CanvasObject> objects;
+	/** The highest sequence number in the draw order. */
+	private long drawnSequence = -1;
 
-	/** The shapes. */
+	/** The drawOrderChanged-flag, set if a z-order was changed. */
+	private volatile boolean drawOrderChanged;
+
+	/** The bounds of the objects at the last redraw, same order as drawOrder. */
+	private Rectangle[] drawBounds;
+
+	/** The colors of the objects at the last redraw. */
+	private Color[] drawColors;
+
+	/** The visibility of the objects at the last redraw. */
+	private boolean[] drawVisible;
+
+	/** The partialRedraw-flag, true if only the dirty region is redrawn. */
+	private volatile boolean partialRedraw = false;
+
+	/** The fullRedraw-flag, set if the next redraw must redraw everything. */
+	private volatile boolean fullRedraw = true;
+
+	/** The region to redraw at the current redraw. */
+	private final DirtyRegion dirtyRegion = new DirtyRegion();
+
+	/** The region invalidated by other threads since the last redraw. */
+	private final DirtyRegion invalidRegion = new DirtyRegion();
+
+	/** The bounds of an invalidated object, guarded by the invalid region. */
+	private final Rectangle invalidBounds = new Rectangle();
+
+	/** The bounds used during the redraw. */
+	private final Rectangle bounds = new Rectangle();
+
+	/** The render context passed to the objects, reused every frame. */
+	private final RenderContext renderContext = new RenderContext();
+
+	/** The number of the next frame. */
+	private long frameNumber;
+
+	/** The number of objects in the draw order, for monitoring. */
+	private volatile int objectCount;
+
+	/** The frame stats the redraw is recorded in, null if not recorded. */
+	private volatile FrameStats frameStats;
+
+	/** The render records of the shapes, updated in place. */
 	private HashMap<Object, ShapeDescription> shapes;
 
+	/** The mouse dispatcher, the only mouse-listener of the canvas. */
+	private MouseDispatcher mouseDispatcher;
+
+	/** The number of buffers used for the active rendering. */
+	public static final int ACTIVE_BUFFERS = 3;
+
+	/** The pane used for the active rendering, created on demand. */
+	private ActivePane activePane;
+
+	/** The buffer strategy of the active pane, created on demand. */
+	private BufferStrategy bufferStrategy;
+
+	/** The activeRendering-flag, true if the loop presents the frames. */
+	private volatile boolean activeRendering = false;
+
+	/** The pipelined-flag, true if a render-thread draws the frames. */
+	private volatile boolean pipelined = false;
+
+	/** The render-thread of the pipelined mode. */
+	private RenderThread renderThread;
+
+	/** The two display lists of the pipelined mode, recorded in turn. */
+	private DisplayList[] displayLists;
+
+	/** The index of the display list recorded next. */
+	private int recordIndex;
+
+	/** The display list recorded by the current redraw. */
+	private DisplayList recording;
+
+	/** The thread recording the current redraw, null if none. */
+	private volatile Thread recordingThread;
+
+	/** The thread drawing the objects in the current redraw, null if none. */
+	private volatile Thread drawingThread;
+
+	/** The lock guarding the canvas image against the render-thread. */
+	private final Object surfaceLock = new Object();
+
+	/** The complete frames painted by Swing, never the canvas image itself. */
+	private final FrameBuffer frameBuffer = new FrameBuffer();
+
 	/**
 	 * Create a Canvas.
 	 * 
@@ -167,7 +301,12 @@ public class Canvas {
 	private Canvas(String title, int width, int height, Color bgColour) {
 
 		backgroundColor = bgColour;
-		objects = new ArrayList<CanvasObject>();
+		objects = new ObjectRegistry<CanvasObject>();
+		drawOrder = new CanvasObject[16];
+		drawKeys = new long[16];
+		drawBounds = new Rectangle[16];
+		drawColors = new Color[16];
+		drawVisible = new boolean[16];
 		shapes = new HashMap<Object, ShapeDescription>();
 
 		canvas = new CanvasPane();
@@ -181,9 +320,47 @@ public class Canvas {
 		frame.pack();
 
 		container = frame;
+		renderer = new Java2DRenderer(canvas);
+
+		mouseDispatcher = new MouseDispatcher(this);
+		canvas.addMouseListener(mouseDispatcher);
+		canvas.addMouseMotionListener(mouseDispatcher);
+		canvas.addMouseWheelListener(mouseDispatcher);
 
 	}
 
+	/**
+	 * Instantiates a new headless canvas, that draws into an image without any
+	 * window.
+	 * 
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @param bgColour
+	 *            the bg colour
+	 */
+	private Canvas(int width, int height, Color bgColour) {
+
+		backgroundColor = bgColour;
+		objects = new ObjectRegistry<CanvasObject>();
+		drawOrder = new CanvasObject[16];
+		drawKeys = new long[16];
+		drawBounds = new Rectangle[16];
+		drawColors = new Color[16];
+		drawVisible = new boolean[16];
+		shapes = new HashMap<Object, ShapeDescription>();
+
+		canvas = new CanvasPane();
+		canvas.setPreferredSize(new Dimension(width, height));
+		canvas.setSize(width, height);
+
+		container = canvas;
+		renderer = new OffscreenRenderer();
+
+		mouseDispatcher = new MouseDispatcher(this);
+	}
+
 	/**
 	 * Instantiates a new canvas.
 	 * 
@@ -201,13 +378,25 @@ public class Canvas {
 	private Canvas(int width, int height, Color bgColour, JITApplet applet) {
 
 		backgroundColor = bgColour;
-		objects = new ArrayList<CanvasObject>();
+		objects = new ObjectRegistry<CanvasObject>();
+		drawOrder = new CanvasObject[16];
+		drawKeys = new long[16];
+		drawBounds = new Rectangle[16];
+		drawColors = new Color[16];
+		drawVisible = new boolean[16];
 		shapes = new HashMap<Object, ShapeDescription>();
 
 		this.applet = applet;
 		applet.setPreferredSize(new Dimension(width, height));
 
 		container = this.applet;
+		renderer = new Java2DRenderer(applet);
+		applet.setFrameBuffer(frameBuffer);
+
+		mouseDispatcher = new MouseDispatcher(this);
+		container.addMouseListener(mouseDispatcher);
+		container.addMouseMotionListener(mouseDispatcher);
+		container.addMouseWheelListener(mouseDispatcher);
 	}
 	
 //	private Canvas(int width, int height, JITCanvas3D canvas3D) {
@@ -218,13 +407,183 @@ public class Canvas {
 //		
 //	}
 
+	/**
+	 * Enables or disables the active rendering.
+	 * <p>
+	 * With the active rendering the canvas image is presented by the thread
+	 * that redraws the canvas, using a <code>BufferStrategy</code> of
+	 * <code>ACTIVE_BUFFERS</code> buffers on a <code>java.awt.Canvas</code>.
+	 * There is no <code>repaint()</code> and no drawing on the
+	 * event-dispatcher, so the frames are shown at once and without tearing.
+	 * Without it the image is painted by Swing after a <code>repaint()</code>.
+	 * </p>
+	 * <p>
+	 * The active rendering is not available for applets.
+	 * </p>
+	 * 
+	 * @param active
+	 *            true to enable the active rendering
+	 */
+	protected synchronized void setActiveRendering(boolean active) {
+		if (isApplet || isHeadless) {
+			System.err.println("The active rendering is not available for applets and headless canvases!");
+			return;
+		}
+		if (active == activeRendering)
+			return;
+		if (active) {
+			if (activePane == null) {
+				activePane = new ActivePane();
+				// the frame keeps the focus for the key-events
+				activePane.setFocusable(false);
+				activePane.addMouseListener(mouseDispatcher);
+				activePane.addMouseMotionListener(mouseDispatcher);
+				activePane.addMouseWheelListener(mouseDispatcher);
+			}
+			canvas.setLayout(new BorderLayout());
+			canvas.add(activePane, BorderLayout.CENTER);
+		} else {
+			canvas.remove(activePane);
+			if (bufferStrategy != null) {
+				bufferStrategy.dispose();
+				bufferStrategy = null;
+			}
+		}
+		canvas.revalidate();
+		activeRendering = active;
+	}
+
+	/**
+	 * Checks if the active rendering is enabled.
+	 * 
+	 * @return true, if the loop presents the frames
+	 */
+	protected boolean isActiveRendering() {
+		return activeRendering;
+	}
+
+	/**
+	 * Enables or disables the pipelined mode. In the pipelined mode the redraw
+	 * only records the drawing of the objects, a render-thread draws the frame
+	 * and shows it while the next frame is updated.
+	 * <p>
+	 * The objects must draw through the render context then, it has no
+	 * graphics. The direct drawing methods like <code>drawLine()</code> do
+	 * nothing outside of the redraw.
+	 * </p>
+	 * 
+	 * @param pipelined
+	 *            true, to draw the frames on a render-thread
+	 * @see RenderThread
+	 */
+	protected synchronized void setPipelined(boolean pipelined) {
+		if (pipelined == this.pipelined)
+			return;
+		if (pipelined) {
+			if (displayLists == null)
+				displayLists = new DisplayList[] { new DisplayList(),
+						new DisplayList() };
+			renderThread = new RenderThread(this);
+			renderThread.start();
+		} else {
+			renderThread.awaitIdle();
+			renderThread.shutdown();
+			renderThread = null;
+		}
+		this.pipelined = pipelined;
+		fullRedraw = true;
+	}
+
+	/**
+	 * Checks if the pipelined mode is enabled.
+	 * 
+	 * @return true, if a render-thread draws the frames
+	 */
+	protected boolean isPipelined() {
+		return pipelined;
+	}
+
+	/**
+	 * Draws and shows a recorded frame, called by the render-thread.
+	 * 
+	 * @param list
+	 *            the recorded frame
+	 */
+	void render(DisplayList list) {
+		synchronized (surfaceLock) {
+			long start = System.nanoTime();
+			list.replay(renderer);
+			long presentStart = System.nanoTime();
+			boolean presented = true;
+			if (list.isFull())
+				present();
+			else if (!list.getRegion().isEmpty())
+				presentDirtyRegion(list.getRegion());
+			else
+				presented = false;
+
+			FrameStats stats = frameStats;
+			if (stats != null) {
+				stats.record(FrameStats.Phase.REDRAW, start, presentStart);
+				if (presented)
+					stats.record(FrameStats.Phase.PRESENT, presentStart);
+			}
+		}
+	}
+
+	/**
+	 * Gets the renderer the direct drawing methods draw with. In the pipelined
+	 * mode that is the recorded display list during the redraw, otherwise
+	 * nothing is drawn.
+	 * 
+	 * @return the renderer, null to draw nothing
+	 */
+	private Renderer directRenderer() {
+		if (!pipelined)
+			return renderer;
+		return Thread.currentThread() == recordingThread ? recording : null;
+	}
+
+	/**
+	 * Shows the canvas image, with the buffer strategy if the active rendering
+	 * is enabled, otherwise the image is published to the frame buffer and the
+	 * container is repainted.
+	 */
+	private void present() {
+		if (isHeadless)
+			return;
+		if (!activeRendering) {
+			frameBuffer.publish(renderer.getImage());
+			container.repaint();
+			return;
+		}
+		if (bufferStrategy == null) {
+			// the strategy can only be created for a displayed pane
+			if (!activePane.isDisplayable())
+				return;
+			activePane.createBufferStrategy(ACTIVE_BUFFERS);
+			bufferStrategy = activePane.getBufferStrategy();
+		}
+		do {
+			do {
+				Graphics g = bufferStrategy.getDrawGraphics();
+				Image image = renderer.getImage();
+				if (image != null)
+					g.drawImage(image, 0, 0, null);
+				g.dispose();
+			} while (bufferStrategy.contentsRestored());
+			bufferStrategy.show();
+		} while (bufferStrategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+	}
+
 	/**
 	 * Gets the frame.
 	 * 
 	 * @return the frame
 	 */
 	protected JFrame getFrame() {
-		if (!isApplet)
+		if (!isApplet && !isHeadless)
 			return frame;
 		else
 			return null;
@@ -242,6 +601,86 @@ public class Canvas {
 			return null;
 	}
 
+	/**
+	 * Gets the image the canvas is drawn into, e.g. to save the frames of a
+	 * headless canvas. Do not draw into it while the application is running.
+	 * 
+	 * @return the image, null if the canvas was never visible or the renderer
+	 *         has no image
+	 */
+	public Image getImage() {
+		return renderer.getImage();
+	}
+
+	/**
+	 * Sets the renderer that draws the canvas image, e.g. a
+	 * <code>NullRenderer</code> to measure the updates without any drawing.
+	 * 
+	 * @param renderer
+	 *            the renderer
+	 * @see Renderer
+	 */
+	protected synchronized void setRenderer(Renderer renderer) {
+		if (renderer == null) {
+			System.err.println("The renderer must not be null!");
+			return;
+		}
+		synchronized (surfaceLock) {
+			Renderer previous = this.renderer;
+			this.renderer = renderer;
+			if (surfaceCreated) {
+				Dimension size = isApplet ? applet.getSize() : canvas
+						.getSize();
+				createSurface(size.width, size.height);
+			}
+			previous.dispose();
+		}
+	}
+
+	/**
+	 * Gets the renderer.
+	 * 
+	 * @return the renderer
+	 */
+	protected Renderer getRenderer() {
+		return renderer;
+	}
+
+	/**
+	 * Gets the number of objects drawn by the last redraw.
+	 * 
+	 * @return the object count
+	 */
+	int getObjectCount() {
+		return objectCount;
+	}
+
+	/**
+	 * Sets the frame stats the redraws are recorded in.
+	 * 
+	 * @param frameStats
+	 *            the frame stats, null to record nothing
+	 */
+	void setFrameStats(FrameStats frameStats) {
+		this.frameStats = frameStats;
+	}
+
+	/**
+	 * Creates the image of the renderer in the given size.
+	 * 
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 */
+	private void createSurface(int width, int height) {
+		synchronized (surfaceLock) {
+			renderer.resize(width, height);
+			surfaceCreated = true;
+			fullRedraw = true;
+		}
+	}
+
 	/**
 	 * Gets the applet.
 	 * 
@@ -261,7 +700,9 @@ public class Canvas {
 	 *            the control
 	 */
 	protected void addWindowControl(WindowControl control) {
-		if (!isApplet) {
+		if (isHeadless) {
+			// there is no window
+		} else if (!isApplet) {
 			frame.removeWindowListener(windowControl);
 			if (windowControl == null)
 				windowControl = control;
@@ -278,7 +719,9 @@ public class Canvas {
 	 *            the control
 	 */
 	protected void removeWindowControl(WindowControl control) {
-		if (!isApplet) {
+		if (isHeadless) {
+			// there is no window
+		} else if (!isApplet) {
 			frame.removeWindowListener(control);
 		} else {
 			// TODO: Listen to browser events?
@@ -287,27 +730,17 @@ public class Canvas {
 
 	/**
 	 * Adds the mouse control or a subclass.
+	 * <p>
+	 * A <code>CanvasObject</code> only receives the events of the mouse over
+	 * it, if it is the topmost object there. All other controls receive every
+	 * event. See <code>MouseDispatcher</code> for more.
+	 * </p>
 	 * 
 	 * @param control
 	 *            the control
 	 */
 	protected void addMouseControl(MouseControl control) {
-		if (canvas != null) {
-			canvas.removeMouseListener(control);
-			canvas.removeMouseMotionListener(control);
-			canvas.removeMouseWheelListener(control);
-			canvas.addMouseListener(control);
-			canvas.addMouseMotionListener(control);
-			canvas.addMouseWheelListener(control);
-		} 
-		else {
-			container.removeMouseListener(control);
-			container.removeMouseMotionListener(control);
-			container.removeMouseWheelListener(control);
-			container.addMouseListener(control);
-			container.addMouseMotionListener(control);
-			container.addMouseWheelListener(control);
-		}
+		mouseDispatcher.add(control);
 	}
 
 	/**
@@ -317,36 +750,29 @@ public class Canvas {
 	 *            the control
 	 */
 	protected void removeMouseControl(MouseControl control) {
-		if (canvas != null) {
-			canvas.removeMouseListener(control);
-			canvas.removeMouseMotionListener(control);
-			canvas.removeMouseWheelListener(control);
-		} else {
-			container.removeMouseListener(control);
-			container.removeMouseMotionListener(control);
-			container.removeMouseWheelListener(control);
-		}
+		mouseDispatcher.remove(control);
 	}
 
 	/**
-	 * Adds the keyboard control or a subclass.
+	 * Adds a key listener to the frame or applet.
 	 * 
-	 * @param control
-	 *            the control
+	 * @param listener
+	 *            the listener
+	 * @see Keyboard
 	 */
-	protected void addKeyboardControl(KeyboardControl control) {
-		container.removeKeyListener(control);
-		container.addKeyListener(control);
+	protected void addKeyListener(KeyListener listener) {
+		container.removeKeyListener(listener);
+		container.addKeyListener(listener);
 	}
 
 	/**
-	 * Removes the keyboard control or a subclass.
+	 * Removes a key listener from the frame or applet.
 	 * 
-	 * @param control
-	 *            the control
+	 * @param listener
+	 *            the listener
 	 */
-	protected void removeKeyboardControl(KeyboardControl control) {
-		container.removeKeyListener(control);
+	protected void removeKeyListener(KeyListener listener) {
+		container.removeKeyListener(listener);
 	}
 
 	/**
@@ -356,7 +782,7 @@ public class Canvas {
 	 *            the new title
 	 */
 	protected void setTitle(String title) {
-		if (!isApplet)
+		if (!isApplet && !isHeadless)
 			frame.setTitle(title);
 	}
 
@@ -379,6 +805,203 @@ public class Canvas {
 		return objects.iterator();
 	}
 
+	/**
+	 * Gets the draw key of an object, objects with a higher key are drawn on
+	 * top of the others. The key is made of the z-order of the object and the
+	 * order the objects were first drawn.
+	 * 
+	 * @param object
+	 *            the object
+	 * @return the draw key, <code>Long.MIN_VALUE</code> if the object is not
+	 *         drawn
+	 */
+	long getDrawKey(CanvasObject object) {
+		long sequence = objects.sequenceOf(object);
+		if (sequence < 0)
+			return Long.MIN_VALUE;
+		return drawKey(object.getZOrder(), sequence);
+	}
+
+	/**
+	 * Tells the canvas that the z-order of an object was changed, the objects
+	 * are sorted again before the next drawing.
+	 * 
+	 * @see CanvasObject#setZOrder(int)
+	 */
+	public void changeDrawOrder() {
+		drawOrderChanged = true;
+	}
+
+	/**
+	 * Makes the draw key of a z-order and a sequence number.
+	 * 
+	 * @param zOrder
+	 *            the z-order
+	 * @param sequence
+	 *            the sequence number
+	 * @return the draw key
+	 */
+	private static long drawKey(int zOrder, long sequence) {
+		return ((long) zOrder << 32) | (sequence & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Applies all draws and erases and sorts the objects by their draw keys,
+	 * if anything has changed.
+	 * <p>
+	 * The sort starts with the last draw order and appends the new objects, so
+	 * the objects are nearly sorted and the insertion sort takes about linear
+	 * time.
+	 * </p>
+	 * 
+	 * @return true, if the draw order was changed
+	 */
+	private boolean updateDrawOrder() {
+		boolean changed = objects.applyPending();
+		if (!changed && !drawOrderChanged)
+			return false;
+		drawOrderChanged = false;
+
+		int size = objects.size();
+		if (drawOrder.length < size + drawCount) {
+			int length = Math.max(size + drawCount, drawOrder.length * 2);
+			drawOrder = Arrays.copyOf(drawOrder, length);
+			drawKeys = Arrays.copyOf(drawKeys, length);
+			drawBounds = Arrays.copyOf(drawBounds, length);
+			drawColors = Arrays.copyOf(drawColors, length);
+			drawVisible = Arrays.copyOf(drawVisible, length);
+		}
+
+		// keep the objects of the last draw order that are still there
+		int count = 0;
+		for (int i = 0; i < drawCount; i++) {
+			CanvasObject object = drawOrder[i];
+			long sequence = objects.sequenceOf(object);
+			if (sequence >= 0 && sequence <= drawnSequence) {
+				drawOrder[count] = object;
+				drawKeys[count] = drawKey(object.getZOrder(), sequence);
+				count++;
+			}
+		}
+		// append the objects added since then
+		long highest = drawnSequence;
+		for (int i = 0; i < size; i++) {
+			long sequence = objects.sequence(i);
+			if (sequence > drawnSequence) {
+				CanvasObject object = objects.get(i);
+				drawOrder[count] = object;
+				drawKeys[count] = drawKey(object.getZOrder(), sequence);
+				count++;
+				highest = Math.max(highest, sequence);
+			}
+		}
+		if (count < drawCount)
+			Arrays.fill(drawOrder, count, drawCount, null);
+		drawCount = count;
+		objectCount = count;
+		drawnSequence = highest;
+
+		for (int i = 1; i < count; i++) {
+			CanvasObject object = drawOrder[i];
+			long key = drawKeys[i];
+			int j = i - 1;
+			while (j >= 0 && drawKeys[j] > key) {
+				drawOrder[j + 1] = drawOrder[j];
+				drawKeys[j + 1] = drawKeys[j];
+				j--;
+			}
+			drawOrder[j + 1] = object;
+			drawKeys[j + 1] = key;
+		}
+		Arrays.fill(drawColors, count, drawColors.length, null);
+		return true;
+	}
+
+	/**
+	 * Enables or disables the partial redraw.
+	 * <p>
+	 * With the partial redraw the canvas remembers the bounds, color and
+	 * visibility of every object. A redraw only clears and redraws the areas
+	 * where one of them has changed, and only these areas are repainted. A
+	 * scene where nothing moves costs nearly nothing.
+	 * </p>
+	 * <p>
+	 * Objects with empty bounds (see <code>CanvasObject.getBounds()</code>)
+	 * and any direct drawing of images, text or lines on the canvas cause a
+	 * full redraw. Call <code>CanvasObject.repaint()</code> if an object looks
+	 * different without a change of its bounds or color.
+	 * </p>
+	 * 
+	 * @param partial
+	 *            true to enable the partial redraw
+	 */
+	protected void setPartialRedraw(boolean partial) {
+		partialRedraw = partial;
+		fullRedraw = true;
+	}
+
+	/**
+	 * Checks if the partial redraw is enabled.
+	 * 
+	 * @return true, if only the dirty region is redrawn
+	 */
+	protected boolean isPartialRedraw() {
+		return partialRedraw;
+	}
+
+	/**
+	 * Marks an area of the canvas to be redrawn with the next redraw. Can be
+	 * called from every thread.
+	 * 
+	 * @param area
+	 *            the area
+	 * @see CanvasObject#repaint()
+	 */
+	public void invalidate(Rectangle area) {
+		synchronized (invalidRegion) {
+			invalidRegion.add(area);
+		}
+	}
+
+	/**
+	 * Compares every object with its state of the last redraw and adds the old
+	 * and new bounds of all changed objects to the dirty region.
+	 * 
+	 * @return true, if everything has to be redrawn
+	 */
+	private boolean collectDirtyRegion() {
+		boolean full = false;
+		synchronized (invalidRegion) {
+			dirtyRegion.add(invalidRegion);
+			invalidRegion.clear();
+		}
+		for (int i = 0; i < drawCount; i++) {
+			CanvasObject object = drawOrder[i];
+			Rectangle last = drawBounds[i];
+			if (last == null) {
+				last = new Rectangle();
+				drawBounds[i] = last;
+			}
+			boolean visible = object.isVisible();
+			Color color = object.getColor();
+			object.getBounds(bounds);
+			if (visible && bounds.isEmpty())
+				full = true;
+
+			if (visible != drawVisible[i] || color != drawColors[i]
+					|| !bounds.equals(last)) {
+				if (drawVisible[i])
+					dirtyRegion.add(last);
+				if (visible)
+					dirtyRegion.add(bounds);
+			}
+			last.setBounds(bounds);
+			drawColors[i] = color;
+			drawVisible[i] = visible;
+		}
+		return full;
+	}
+
 	/**
 	 * Set the canvas visibility and brings canvas to the front of screen when
 	 * made visible. This method can also be used to bring an already visible
@@ -389,23 +1012,12 @@ public class Canvas {
 	 *            canvas (true or false)
 	 */
 	protected void setVisible(boolean visible) {
-		if (graphic == null) {
+		if (!surfaceCreated) {
 			// first time: instantiate the offscreen image and fill it with
 			// the background colour
-			Dimension size;
-			if (isApplet) {
-				size = applet.getSize();
-				canvasImage = applet.createImage(size.width, size.height);
-				applet.setCanvasImage(canvasImage);
-			} else {
-				size = canvas.getSize();
-				canvasImage = canvas.createImage(size.width, size.height);
-			}
-
-			graphic = (Graphics2D) canvasImage.getGraphics();
-			graphic.setColor(backgroundColor);
-			graphic.fillRect(0, 0, size.width, size.height);
-			graphic.setColor(Color.black);
+			Dimension size = isApplet ? applet.getSize() : canvas.getSize();
+			createSurface(size.width, size.height);
+			renderer.clear(0, 0, size.width, size.height, backgroundColor);
 		}
 
 		container.setVisible(visible);
@@ -425,29 +1037,23 @@ public class Canvas {
 			applet.setPreferredSize(new Dimension(width, height));
 			applet.setMaximumSize(new Dimension(width, height));
 
-			canvasImage = applet.createImage(width, height);
-			applet.setCanvasImage(canvasImage);
+		} else if (isHeadless) {
+			canvas.setPreferredSize(new Dimension(width, height));
+			canvas.setSize(width, height);
 		} else {
 			canvas.setPreferredSize(new Dimension(width, height));
 			canvas.setMaximumSize(new Dimension(width, height));
-
-			canvasImage = canvas.createImage(width, height);
 		}
 
-		// canvasImage.setAccelerationPriority(1);
-
-		graphic = (Graphics2D) canvasImage.getGraphics();
-		// graphic.setColor(backgroundColor);
-		// graphic.fillRect(0, 0, width, height);
-		graphic.setColor(Color.black);
+		createSurface(width, height);
 
-		if (!isApplet)
+		if (!isApplet && !isHeadless)
 			frame.pack();
 	}
 
 	/**
 	 * Force the drawing of a given shape onto the canvas. The CanvasObject will
-	 * be added to drawing here.
+	 * be added to drawing here, it is redrawn from the next tick on.
 	 * 
 	 * @param referenceObject
 	 *            an object to define identity for this shape
@@ -460,12 +1066,39 @@ public class Canvas {
 	// objects. It is carefully designed to keep the visible shape
 	// interfaces in this project clean and simple for educational purposes.
 	public void draw(CanvasObject referenceObject, Color color, Shape shape) {
-		objects.remove(referenceObject); // just in case it was already
-											// there
-		objects.add(referenceObject); // add at the end
+		objects.add(referenceObject); // does nothing if already there
 		if (shape != null) {
-			shapes.put(referenceObject, new ShapeDescription(shape, color));
-			shapes.get(referenceObject).draw(graphic);
+			// reuse the record of the object, so no garbage is created
+			ShapeDescription description = shapes.get(referenceObject);
+			if (description == null) {
+				description = new ShapeDescription(shape, color);
+				shapes.put(referenceObject, description);
+			} else {
+				description.set(shape, color);
+			}
+			Renderer target = directRenderer();
+			if (target != null) {
+				description.draw(target);
+				// drawn over the objects in front of it, unless the redraw
+				// draws it itself; a change of the bounds, color or
+				// visibility is found by the redraw anyway
+				if (Thread.currentThread() != drawingThread)
+					invalidate(referenceObject);
+			}
+		}
+	}
+
+	/**
+	 * Marks the bounds of an object to be redrawn with the next redraw,
+	 * without creating a rectangle.
+	 * 
+	 * @param object
+	 *            the object
+	 */
+	private void invalidate(CanvasObject object) {
+		synchronized (invalidRegion) {
+			object.getBounds(invalidBounds);
+			invalidRegion.add(invalidBounds);
 		}
 	}
 
@@ -482,7 +1115,9 @@ public class Canvas {
 	 *         completely loaded
 	 */
 	public boolean drawImage(Image image, int x, int y) {
-		boolean result = graphic.drawImage(image, x, y, null);
+		fullRedraw = true;
+		Renderer target = directRenderer();
+		boolean result = target != null && target.drawImage(image, x, y);
 		// canvas.repaint();
 		return result;
 	}
@@ -498,7 +1133,10 @@ public class Canvas {
 	 *            the y
 	 */
 	public void drawString(String text, int x, int y) {
-		graphic.drawString(text, x, y);
+		fullRedraw = true;
+		Renderer target = directRenderer();
+		if (target != null)
+			target.drawString(text, x, y, font, foregroundColor);
 		// canvas.repaint();
 	}
 
@@ -513,10 +1151,10 @@ public class Canvas {
 	 *            the y
 	 */
 	public void eraseString(String text, int x, int y) {
-		Color original = graphic.getColor();
-		graphic.setColor(backgroundColor);
-		graphic.drawString(text, x, y);
-		graphic.setColor(original);
+		fullRedraw = true;
+		Renderer target = directRenderer();
+		if (target != null)
+			target.drawString(text, x, y, font, backgroundColor);
 		// canvas.repaint();
 	}
 
@@ -533,7 +1171,10 @@ public class Canvas {
 	 *            the y2
 	 */
 	public void drawLine(int x1, int y1, int x2, int y2) {
-		graphic.drawLine(x1, y1, x2, y2);
+		fullRedraw = true;
+		Renderer target = directRenderer();
+		if (target != null)
+			target.drawLine(x1, y1, x2, y2, foregroundColor);
 		// canvas.repaint();
 	}
 
@@ -544,8 +1185,7 @@ public class Canvas {
 	 *            the shape object to be erased
 	 */
 	public void erase(Object referenceObject) {
-		objects.remove(referenceObject); // just in case it was already
-											// there
+		objects.remove(referenceObject);
 		shapes.remove(referenceObject);
 		refresh();
 	}
@@ -558,7 +1198,7 @@ public class Canvas {
 	 */
 	public void setForegroundColor(Color color) {
 		if (color != null)
-			graphic.setColor(color);
+			foregroundColor = color;
 	}
 
 	/**
@@ -584,7 +1224,8 @@ public class Canvas {
 	 *            the new font
 	 */
 	public void setFont(Font newFont) {
-		graphic.setFont(newFont);
+		if (newFont != null)
+			font = newFont;
 	}
 
 	/**
@@ -593,61 +1234,206 @@ public class Canvas {
 	 * @return the font currently in use
 	 **/
 	public Font getFont() {
-		return graphic.getFont();
+		return font;
 	}
 
 	/**
 	 * Redraw all shapes currently on the Canvas.
 	 */
-	protected void refresh() {
-		erase();
-
-		@SuppressWarnings("unchecked")
-		ArrayList<CanvasObject> clone = (ArrayList<CanvasObject>) objects
-				.clone();
-
-		for (CanvasObject c : clone) {
-			if (shapes.containsKey(c))
-				((ShapeDescription) shapes.get(c)).draw(graphic);
+	protected synchronized void refresh() {
+		fullRedraw = true;
+		// the render-thread draws the next frame anyway
+		if (pipelined)
+			return;
+		erase(renderer);
+		updateDrawOrder();
+
+		for (int i = 0; i < drawCount; i++) {
+			ShapeDescription shape = shapes.get(drawOrder[i]);
+			if (shape != null)
+				shape.draw(renderer);
 		}
 
-		container.repaint();
+		present();
 	}
 
 	/**
-	 * Redraw.
+	 * Redraw all visible objects, every object gets the same render context.
+	 * If the partial redraw is enabled, only the dirty region is redrawn. In
+	 * the pipelined mode the frame is recorded and drawn by the render-thread.
 	 */
 	protected void redraw() {
-		erase();
+		redraw(1f);
+	}
 
-		@SuppressWarnings("unchecked")
-		ArrayList<CanvasObject> clone = (ArrayList<CanvasObject>) objects
-				.clone();
+	/**
+	 * Redraw all visible objects at an interpolation between their previous
+	 * and current state. An interpolated frame is always redrawn as a whole,
+	 * the objects are not where their bounds are.
+	 * 
+	 * @param alpha
+	 *            the interpolation between 0 (the previous state) and 1 (the
+	 *            current state)
+	 * @see RenderContext#getAlpha()
+	 */
+	protected synchronized void redraw(float alpha) {
+		// apply all draws and erases since the last redraw
+		boolean full = updateDrawOrder() || fullRedraw || !partialRedraw;
+		fullRedraw = false;
+		if (partialRedraw && collectDirtyRegion())
+			full = true;
+		if (alpha < 1f) {
+			full = true;
+			// the next frame has to erase the interpolated positions
+			fullRedraw = true;
+		}
+
+		RedrawEvent event = RedrawEvent.start();
+		long start = System.nanoTime();
+		Renderer target = renderer;
+		if (pipelined) {
+			recording = displayLists[recordIndex];
+			recording.begin(frameNumber, full, dirtyRegion);
+			recordingThread = Thread.currentThread();
+			target = recording;
+		}
+		renderContext.begin(target, frameNumber++, container.getWidth(),
+				container.getHeight(), alpha);
+		drawingThread = Thread.currentThread();
+		if (full) {
+			erase(target);
+			drawObjects(null);
+		} else if (!dirtyRegion.isEmpty()) {
+			for (int i = 0; i < dirtyRegion.size(); i++) {
+				Rectangle area = dirtyRegion.get(i);
+				target.setClip(area.x, area.y, area.width, area.height);
+				erase(target, area.x, area.y, area.width, area.height);
+				drawObjects(area);
+			}
+			target.resetClip();
+		}
+		drawingThread = null;
+		long drawEnd = System.nanoTime();
+		long presentEnd = drawEnd;
+		boolean presented = false;
+		if (pipelined) {
+			recordingThread = null;
+			// waits until the render-thread drew the frame before
+			renderThread.submit(recording);
+			recordIndex ^= 1;
+		} else if (full || !dirtyRegion.isEmpty()) {
+			if (full)
+				present();
+			else
+				presentDirtyRegion(dirtyRegion);
+			presentEnd = System.nanoTime();
+			presented = true;
+		}
+		if (event != null)
+			event.finish(frameNumber - 1, drawCount, full,
+					full ? 0 : dirtyRegion.size());
+		dirtyRegion.clear();
+
+		mouseDispatcher.update();
 
-		for (CanvasObject c : clone) {
-			if (c != null && c.isVisible())
-				c.draw();
+		FrameStats stats = frameStats;
+		if (stats != null) {
+			if (pipelined) {
+				stats.record(FrameStats.Phase.RECORD, start, drawEnd);
+			} else {
+				stats.record(FrameStats.Phase.REDRAW, start, drawEnd);
+				if (presented)
+					stats.record(FrameStats.Phase.PRESENT, drawEnd, presentEnd);
+			}
 		}
+	}
 
-		container.repaint();
+	/**
+	 * Saves the state of all objects before an update step, for the
+	 * interpolation.
+	 * 
+	 * @see CanvasObject#prepareUpdate()
+	 */
+	synchronized void prepareUpdate() {
+		for (int i = 0; i < objects.size(); i++)
+			objects.get(i).prepareUpdate();
+	}
+
+	/**
+	 * Draws the visible objects in their order.
+	 * 
+	 * @param area
+	 *            the area to draw, only objects with bounds in it are drawn,
+	 *            null to draw all
+	 */
+	private void drawObjects(Rectangle area) {
+		for (int i = 0; i < drawCount; i++) {
+			CanvasObject c = drawOrder[i];
+			if (c.isVisible()
+					&& (area == null || area.intersects(drawBounds[i])))
+				c.draw(renderContext);
+		}
+	}
+
+	/**
+	 * Shows the dirty region, the active rendering shows the whole image.
+	 * 
+	 * @param region
+	 *            the region to show
+	 */
+	private void presentDirtyRegion(DirtyRegion region) {
+		if (isHeadless)
+			return;
+		if (activeRendering) {
+			present();
+			return;
+		}
+		frameBuffer.publish(renderer.getImage());
+		Component target = isApplet ? applet : canvas;
+		for (int i = 0; i < region.size(); i++) {
+			Rectangle area = region.get(i);
+			target.repaint(area.x, area.y, area.width, area.height);
+		}
 	}
 
 	/**
 	 * Erase the whole canvas. (Does not repaint.)
+	 * 
+	 * @param target
+	 *            the renderer to erase with
+	 */
+	private void erase(Renderer target) {
+		erase(target, 0, 0, container.getWidth(), container.getHeight());
+	}
+
+	/**
+	 * Erase an area of the canvas. (Does not repaint.)
+	 * 
+	 * @param target
+	 *            the renderer to erase with
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
 	 */
-	private void erase() {
-		Color original = graphic.getColor();
-		graphic.setColor(backgroundColor);
-		Dimension size = container.getSize();
-		graphic.fill(new Rectangle(0, 0, size.width, size.height));
-		graphic.setColor(original);
+	private void erase(Renderer target, int x, int y, int width, int height) {
+		target.clear(x, y, width, height, backgroundColor);
 	}
 
 	/**
 	 * Terminates the canvas frame to allow termination.
 	 */
 	protected void terminate() {
-		if (!isApplet) {
+		RenderThread thread = renderThread;
+		if (thread != null)
+			thread.shutdown();
+		if (isHeadless) {
+			// there is no window
+		} else if (!isApplet) {
 			frame.setVisible(false);
 			frame = null;
 		} else {
@@ -671,8 +1457,10 @@ public class Canvas {
 		 * @see javax.swing.JComponent#paint(java.awt.Graphics)
 		 */
 		public void paint(Graphics g) {
-			if (canvasImage != null)
-				g.drawImage(canvasImage, 0, 0, null);
+			// the latest complete frame, the canvas image may be half drawn
+			Image image = frameBuffer.acquire();
+			if (image != null)
+				g.drawImage(image, 0, 0, null);
 		}
 
 		/*
@@ -686,6 +1474,44 @@ public class Canvas {
 		}
 	}
 
+	/**
+	 * The Class ActivePane is the heavyweight canvas used for the active
+	 * rendering, it lies on top of the canvas pane.
+	 */
+	private class ActivePane extends java.awt.Canvas {
+
+		/** The Constant serialVersionUID. */
+		private static final long serialVersionUID = -2148473546718924652L;
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.awt.Canvas#paint(java.awt.Graphics)
+		 */
+		@Override
+		public void paint(Graphics g) {
+			// only called if the window was covered, a running loop presents
+			// the whole image with the next frame
+			if (Application.getInstance().isRunning()) {
+				fullRedraw = true;
+				return;
+			}
+			Image image = renderer.getImage();
+			if (image != null)
+				g.drawImage(image, 0, 0, null);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.awt.Canvas#update(java.awt.Graphics)
+		 */
+		@Override
+		public void update(Graphics g) {
+			paint(g);
+		}
+	}
+
 	/**
 	 * The Class ShapeDescription.
 	 */
@@ -710,16 +1536,29 @@ public class Canvas {
 			this.color = color;
 		}
 
+		/**
+		 * Sets the shape and the color, the record is reused every frame.
+		 * 
+		 * @param shape
+		 *            the shape
+		 * @param color
+		 *            the color
+		 */
+		public void set(Shape shape, Color color) {
+			this.shape = shape;
+			this.color = color;
+		}
+
 		/**
 		 * Draw.
 		 * 
-		 * @param graphic
-		 *            the graphic
+		 * @param renderer
+		 *            the renderer
 		 */
-		public void draw(Graphics2D graphic) {
+		public void draw(Renderer renderer) {
 			setForegroundColor(color);
 			if (shape != null)
-				graphic.fill(shape);
+				renderer.fill(shape, color);
 		}
 	}
 
@@ -0,0 +1,266 @@
+package framework.core;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import framework.interfaces.Collider;
+
+/**
+ * The Class CollisionWorld finds the colliding colliders of the application.
+ *
+ * <p>
+ * The broadphase is a sweep and prune along the x-axis: the colliders are kept
+ * in an array sorted by the left edge of their bounds. Objects move only a bit
+ * between two updates, so the array stays nearly sorted and the insertion sort
+ * of every step takes about linear time. The sweep then only compares
+ * colliders whose x-intervals overlap, and checks their y-intervals before the
+ * narrowphase <code>checkCollision()</code> is called.
+ * </p>
+ *
+ * <p>
+ * Adding and removing can be done from every thread, the changes are applied
+ * at the start of the next <code>step()</code>. The step itself is only called
+ * by the update-thread.
+ * </p>
+ *
+ * @see Collider
+ */
+final class CollisionWorld {
+
+	/**
+	 * The Class Entry is a collider with its bounds of the last step.
+	 */
+	private static final class Entry {
+
+		/** The collider. */
+		final Collider collider;
+
+		/** The bounds of the collider. */
+		final Rectangle bounds = new Rectangle();
+
+		/** The removed-flag, the entry is dropped with the next step. */
+		boolean removed;
+
+		/**
+		 * Instantiates a new entry.
+		 *
+		 * @param collider
+		 *            the collider
+		 */
+		Entry(Collider collider) {
+			this.collider = collider;
+		}
+	}
+
+	/**
+	 * The Class Command is a pending add or remove.
+	 */
+	private static final class Command {
+
+		/** The add-flag, false for a remove. */
+		final boolean add;
+
+		/** The collider to add or remove. */
+		final Collider collider;
+
+		/**
+		 * Instantiates a new command.
+		 *
+		 * @param add
+		 *            true for an add, false for a remove
+		 * @param collider
+		 *            the collider
+		 */
+		Command(boolean add, Collider collider) {
+			this.add = add;
+			this.collider = collider;
+		}
+	}
+
+	/** The entries sorted by the left edge, the first <code>size</code>. */
+	private Entry[] entries;
+
+	/** The number of entries. */
+	private int size;
+
+	/** The entries by their colliders. */
+	private final IdentityHashMap<Collider, Entry> entryMap;
+
+	/** The pending adds and removes. */
+	private final Queue<Command> pending;
+
+	/** The number of candidate pairs of the last step. */
+	private int candidateCount;
+
+	/**
+	 * Instantiates a new collision world.
+	 */
+	CollisionWorld() {
+		entries = new Entry[16];
+		entryMap = new IdentityHashMap<Collider, Entry>();
+		pending = new ConcurrentLinkedQueue<Command>();
+	}
+
+	/**
+	 * Adds a collider with the next step.
+	 *
+	 * @param collider
+	 *            the collider
+	 */
+	void add(Collider collider) {
+		if (collider != null)
+			pending.add(new Command(true, collider));
+	}
+
+	/**
+	 * Removes a collider with the next step.
+	 *
+	 * @param collider
+	 *            the collider
+	 */
+	void remove(Collider collider) {
+		if (collider != null)
+			pending.add(new Command(false, collider));
+	}
+
+	/**
+	 * Gets the number of colliders.
+	 *
+	 * @return the size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of pairs with overlapping bounds of the last step.
+	 *
+	 * @return the candidate count
+	 */
+	int getCandidateCount() {
+		return candidateCount;
+	}
+
+	/**
+	 * Removes all colliders at once.
+	 */
+	void clear() {
+		pending.clear();
+		entryMap.clear();
+		Arrays.fill(entries, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Refreshes the bounds of all colliders and notifies the colliding ones.
+	 */
+	void step() {
+		applyPending();
+		refresh();
+		sort();
+		sweep();
+	}
+
+	/**
+	 * Applies all pending adds and removes.
+	 */
+	private void applyPending() {
+		Command command;
+		while ((command = pending.poll()) != null) {
+			if (command.add) {
+				if (entryMap.containsKey(command.collider))
+					continue;
+				Entry entry = new Entry(command.collider);
+				entryMap.put(command.collider, entry);
+				if (size == entries.length)
+					entries = Arrays.copyOf(entries, size * 2);
+				entries[size++] = entry;
+			} else {
+				Entry entry = entryMap.remove(command.collider);
+				if (entry != null)
+					entry.removed = true;
+			}
+		}
+	}
+
+	/**
+	 * Refreshes the bounds and drops the removed entries, keeping the order.
+	 */
+	private void refresh() {
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			Entry entry = entries[i];
+			if (entry.removed)
+				continue;
+			entry.collider.getBounds(entry.bounds);
+			entries[count++] = entry;
+		}
+		Arrays.fill(entries, count, size, null);
+		size = count;
+	}
+
+	/**
+	 * Sorts the entries by their left edge with an insertion sort, that is
+	 * nearly linear for the nearly sorted entries.
+	 */
+	private void sort() {
+		for (int i = 1; i < size; i++) {
+			Entry entry = entries[i];
+			int x = entry.bounds.x;
+			int j = i - 1;
+			while (j >= 0 && entries[j].bounds.x > x) {
+				entries[j + 1] = entries[j];
+				j--;
+			}
+			entries[j + 1] = entry;
+		}
+	}
+
+	/**
+	 * Sweeps along the x-axis and checks all pairs with overlapping bounds.
+	 */
+	private void sweep() {
+		int candidates = 0;
+		for (int i = 0; i < size; i++) {
+			Entry a = entries[i];
+			Rectangle boundsA = a.bounds;
+			if (boundsA.isEmpty())
+				continue;
+			int right = boundsA.x + boundsA.width;
+			for (int j = i + 1; j < size; j++) {
+				Entry b = entries[j];
+				Rectangle boundsB = b.bounds;
+				if (boundsB.x >= right)
+					break;
+				if (boundsB.isEmpty() || boundsB.y >= boundsA.y + boundsA.height
+						|| boundsA.y >= boundsB.y + boundsB.height)
+					continue;
+				candidates++;
+				collide(a.collider, b.collider);
+			}
+		}
+		candidateCount = candidates;
+	}
+
+	/**
+	 * Checks a candidate pair and notifies both colliders if they collide.
+	 *
+	 * @param a
+	 *            the first collider
+	 * @param b
+	 *            the second collider
+	 */
+	private static void collide(Collider a, Collider b) {
+		try {
+			if (a.checkCollision(b)) {
+				a.onCollision(b);
+				b.onCollision(a);
+			}
+		} catch (Exception e) {
+			System.out.println(e.toString());
+		}
+	}
+}
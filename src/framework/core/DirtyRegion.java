@@ -0,0 +1,185 @@
+package framework.core;
+
+import java.awt.Rectangle;
+
+/**
+ * The Class DirtyRegion collects the areas of the canvas that have to be
+ * redrawn.
+ *
+ * <p>
+ * The region is a short list of rectangles. A rectangle that overlaps one of
+ * the list is merged into it, so the list stays small and no area is drawn
+ * twice. If the list is full, the rectangle is merged into the last one.
+ * </p>
+ *
+ * <p>
+ * The region is not thread-safe.
+ * </p>
+ *
+ * @see Canvas#setPartialRedraw(boolean)
+ */
+final class DirtyRegion {
+
+	/** The maximum number of rectangles. */
+	static final int CAPACITY = 16;
+
+	/** The pixels added on each side, e.g. for the edges of polygons. */
+	private static final int MARGIN = 1;
+
+	/** The rectangles, the first <code>size</code> are used. */
+	private final Rectangle[] rectangles;
+
+	/** The number of rectangles. */
+	private int size;
+
+	/**
+	 * Instantiates a new dirty region.
+	 */
+	DirtyRegion() {
+		rectangles = new Rectangle[CAPACITY];
+		for (int i = 0; i < CAPACITY; i++)
+			rectangles[i] = new Rectangle();
+	}
+
+	/**
+	 * Adds a rectangle to the region, empty rectangles are ignored.
+	 *
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 */
+	void add(int x, int y, int width, int height) {
+		if (width <= 0 || height <= 0)
+			return;
+		x -= MARGIN;
+		y -= MARGIN;
+		width += 2 * MARGIN;
+		height += 2 * MARGIN;
+
+		Rectangle merged = null;
+		for (int i = 0; i < size; i++) {
+			if (rectangles[i].intersects(x, y, width, height)) {
+				merged = rectangles[i];
+				merged.add(x, y);
+				merged.add(x + width, y + height);
+				break;
+			}
+		}
+		if (merged == null) {
+			if (size < CAPACITY) {
+				rectangles[size++].setBounds(x, y, width, height);
+				return;
+			}
+			merged = rectangles[size - 1];
+			merged.add(x, y);
+			merged.add(x + width, y + height);
+		}
+		coalesce(merged);
+	}
+
+	/**
+	 * Adds a rectangle to the region.
+	 *
+	 * @param rectangle
+	 *            the rectangle
+	 */
+	void add(Rectangle rectangle) {
+		add(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+	}
+
+	/**
+	 * Adds another region to this one.
+	 *
+	 * @param region
+	 *            the region
+	 */
+	void add(DirtyRegion region) {
+		for (int i = 0; i < region.size; i++) {
+			Rectangle r = region.rectangles[i];
+			// the margin was already added
+			add(r.x + MARGIN, r.y + MARGIN, r.width - 2 * MARGIN, r.height
+					- 2 * MARGIN);
+		}
+	}
+
+	/**
+	 * Merges all rectangles that overlap the grown rectangle into it.
+	 *
+	 * @param grown
+	 *            the grown rectangle
+	 */
+	private void coalesce(Rectangle grown) {
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < size; i++) {
+				Rectangle other = rectangles[i];
+				if (other != grown && other.intersects(grown)) {
+					grown.add(other);
+					// move the last rectangle into the free place
+					size--;
+					rectangles[i] = rectangles[size];
+					rectangles[size] = other;
+					changed = true;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if the region is empty.
+	 *
+	 * @return true, if nothing has to be redrawn
+	 */
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Gets the number of rectangles.
+	 *
+	 * @return the size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Gets a rectangle, do not change it.
+	 *
+	 * @param index
+	 *            the index
+	 * @return the rectangle
+	 */
+	Rectangle get(int index) {
+		return rectangles[index];
+	}
+
+	/**
+	 * Checks if a rectangle intersects the region.
+	 *
+	 * @param rectangle
+	 *            the rectangle
+	 * @return true, if it intersects
+	 */
+	boolean intersects(Rectangle rectangle) {
+		for (int i = 0; i < size; i++) {
+			if (rectangles[i].intersects(rectangle))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all rectangles.
+	 */
+	void clear() {
+		size = 0;
+	}
+}
@@ -0,0 +1,426 @@
+package framework.core;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+
+/**
+ * The Class DisplayList is a renderer that records the drawing of a frame, to
+ * replay it later on another renderer.
+ *
+ * <p>
+ * The pipelined mode of the canvas records the redraw on the update-thread and
+ * replays it on the render-thread, so the objects can be updated for the next
+ * frame while the last one is drawn. Everything passed to the list is copied,
+ * the shapes too, so the objects may change right after they were drawn. The
+ * commands are reused from frame to frame, a frame of the same size creates no
+ * garbage.
+ * </p>
+ *
+ * <p>
+ * The list has no graphics and no image, objects have to draw through the
+ * methods of the render context. The list is not thread-safe.
+ * </p>
+ *
+ * @see Canvas#setPipelined(boolean)
+ * @see RenderThread
+ */
+final class DisplayList implements Renderer {
+
+	/** The command clearing an area. */
+	private static final int CLEAR = 0;
+
+	/** The command setting the clip. */
+	private static final int CLIP = 1;
+
+	/** The command resetting the clip. */
+	private static final int RESET_CLIP = 2;
+
+	/** The command filling a shape. */
+	private static final int FILL = 3;
+
+	/** The command drawing a line. */
+	private static final int LINE = 4;
+
+	/** The command drawing a string. */
+	private static final int STRING = 5;
+
+	/** The command drawing an image. */
+	private static final int IMAGE = 6;
+
+	/**
+	 * The Class Command is one recorded call of the renderer.
+	 */
+	private static final class Command {
+
+		/** The type of the command. */
+		int type;
+
+		/** The x, or the first x of a line. */
+		int x;
+
+		/** The y, or the first y of a line. */
+		int y;
+
+		/** The width, or the second x of a line. */
+		int width;
+
+		/** The height, or the second y of a line. */
+		int height;
+
+		/** The color. */
+		Color color;
+
+		/** The shape to fill, one of the copies below. */
+		Shape shape;
+
+		/** The copy of a rectangle. */
+		Rectangle rectangle;
+
+		/** The copy of an ellipse. */
+		Ellipse2D.Double ellipse;
+
+		/** The copy of any other shape. */
+		Path2D.Double path;
+
+		/** The text of a string. */
+		String text;
+
+		/** The font of a string. */
+		Font font;
+
+		/** The image. */
+		Image image;
+
+		/**
+		 * Sets the shape to a copy of the given one.
+		 *
+		 * @param source
+		 *            the shape to copy
+		 */
+		void copy(Shape source) {
+			if (source instanceof Rectangle) {
+				if (rectangle == null)
+					rectangle = new Rectangle();
+				rectangle.setBounds((Rectangle) source);
+				shape = rectangle;
+			} else if (source instanceof Ellipse2D) {
+				if (ellipse == null)
+					ellipse = new Ellipse2D.Double();
+				Ellipse2D e = (Ellipse2D) source;
+				ellipse.setFrame(e.getX(), e.getY(), e.getWidth(),
+						e.getHeight());
+				shape = ellipse;
+			} else {
+				if (path == null)
+					path = new Path2D.Double();
+				path.reset();
+				path.append(source, false);
+				shape = path;
+			}
+		}
+
+		/**
+		 * Drops the references, so nothing is kept alive by the list.
+		 */
+		void release() {
+			color = null;
+			shape = null;
+			text = null;
+			font = null;
+			image = null;
+		}
+	}
+
+	/** The commands, the first <code>size</code> are recorded. */
+	private final ArrayList<Command> commands;
+
+	/** The number of recorded commands. */
+	private int size;
+
+	/** The full-flag, true if the whole frame has to be shown. */
+	private boolean full;
+
+	/** The areas to show, if not the whole frame. */
+	private final DirtyRegion region;
+
+	/** The number of the frame. */
+	private long frame;
+
+	/**
+	 * Instantiates a new display list.
+	 */
+	DisplayList() {
+		commands = new ArrayList<Command>();
+		region = new DirtyRegion();
+	}
+
+	/**
+	 * Starts the recording of a new frame, the last one is dropped.
+	 *
+	 * @param frame
+	 *            the number of the frame
+	 * @param full
+	 *            true, if the whole frame has to be shown
+	 * @param dirtyRegion
+	 *            the areas to show, if not the whole frame
+	 */
+	void begin(long frame, boolean full, DirtyRegion dirtyRegion) {
+		for (int i = 0; i < size; i++)
+			commands.get(i).release();
+		size = 0;
+		this.frame = frame;
+		this.full = full;
+		region.clear();
+		if (!full)
+			region.add(dirtyRegion);
+	}
+
+	/**
+	 * Replays the recorded frame.
+	 *
+	 * @param renderer
+	 *            the renderer to draw on
+	 */
+	void replay(Renderer renderer) {
+		for (int i = 0; i < size; i++) {
+			Command c = commands.get(i);
+			switch (c.type) {
+			case CLEAR:
+				renderer.clear(c.x, c.y, c.width, c.height, c.color);
+				break;
+			case CLIP:
+				renderer.setClip(c.x, c.y, c.width, c.height);
+				break;
+			case RESET_CLIP:
+				renderer.resetClip();
+				break;
+			case FILL:
+				renderer.fill(c.shape, c.color);
+				break;
+			case LINE:
+				renderer.drawLine(c.x, c.y, c.width, c.height, c.color);
+				break;
+			case STRING:
+				renderer.drawString(c.text, c.x, c.y, c.font, c.color);
+				break;
+			case IMAGE:
+				renderer.drawImage(c.image, c.x, c.y);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the whole frame has to be shown.
+	 *
+	 * @return true, if full
+	 */
+	boolean isFull() {
+		return full;
+	}
+
+	/**
+	 * Gets the areas to show, if not the whole frame.
+	 *
+	 * @return the region
+	 */
+	DirtyRegion getRegion() {
+		return region;
+	}
+
+	/**
+	 * Gets the number of the frame.
+	 *
+	 * @return the frame
+	 */
+	long getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Gets the number of recorded commands.
+	 *
+	 * @return the size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Adds a command.
+	 *
+	 * @param type
+	 *            the type of the command
+	 * @return the command to fill in
+	 */
+	private Command add(int type) {
+		Command command;
+		if (size < commands.size()) {
+			command = commands.get(size);
+		} else {
+			command = new Command();
+			commands.add(command);
+		}
+		size++;
+		command.type = type;
+		return command;
+	}
+
+	/**
+	 * Does nothing, the list has no image to create and does not record the
+	 * size. The canvas resizes its own renderer, the one the list is replayed
+	 * on, under the same lock as the replay, so a frame is never drawn while
+	 * the image changes. The frame after a resize is drawn completely.
+	 *
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @see Canvas#render(DisplayList)
+	 */
+	@Override
+	public void resize(int width, int height) {
+		// nothing to create
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#getImage()
+	 */
+	@Override
+	public Image getImage() {
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#getGraphics()
+	 */
+	@Override
+	public Graphics2D getGraphics() {
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#clear(int, int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void clear(int x, int y, int width, int height, Color color) {
+		Command c = add(CLEAR);
+		c.x = x;
+		c.y = y;
+		c.width = width;
+		c.height = height;
+		c.color = color;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#setClip(int, int, int, int)
+	 */
+	@Override
+	public void setClip(int x, int y, int width, int height) {
+		Command c = add(CLIP);
+		c.x = x;
+		c.y = y;
+		c.width = width;
+		c.height = height;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#resetClip()
+	 */
+	@Override
+	public void resetClip() {
+		add(RESET_CLIP);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#fill(java.awt.Shape, java.awt.Color)
+	 */
+	@Override
+	public void fill(Shape shape, Color color) {
+		if (shape == null)
+			return;
+		Command c = add(FILL);
+		c.copy(shape);
+		c.color = color;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawLine(int, int, int, int,
+	 * java.awt.Color)
+	 */
+	@Override
+	public void drawLine(int x1, int y1, int x2, int y2, Color color) {
+		Command c = add(LINE);
+		c.x = x1;
+		c.y = y1;
+		c.width = x2;
+		c.height = y2;
+		c.color = color;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawString(java.lang.String, int, int,
+	 * java.awt.Font, java.awt.Color)
+	 */
+	@Override
+	public void drawString(String text, int x, int y, Font font, Color color) {
+		Command c = add(STRING);
+		c.text = text;
+		c.x = x;
+		c.y = y;
+		c.font = font;
+		c.color = color;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawImage(java.awt.Image, int, int)
+	 */
+	@Override
+	public boolean drawImage(Image image, int x, int y) {
+		if (image == null)
+			return false;
+		Command c = add(IMAGE);
+		c.image = image;
+		c.x = x;
+		c.y = y;
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#dispose()
+	 */
+	@Override
+	public void dispose() {
+		begin(0, true, null);
+		commands.clear();
+	}
+}
@@ -0,0 +1,114 @@
+package framework.core;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Class FrameBuffer hands the complete frames of the canvas to the
+ * event-dispatcher, without a lock between the thread that draws and Swing.
+ *
+ * <p>
+ * The buffer keeps three images: the back image written by the drawing
+ * thread, the front image painted by the event-dispatcher and the latest
+ * complete frame in between. A published frame is copied into the back image,
+ * which is then swapped with the latest one in one atomic step. Painting swaps
+ * the front image with the latest one, if a newer frame was published since.
+ * Each side only ever touches its own image, so neither waits for the other
+ * and the event-dispatcher never paints a half drawn frame.
+ * </p>
+ *
+ * <p>
+ * Frames are published by one thread at a time, the one that presents the
+ * canvas. The renderer keeps drawing into its own image, the partial redraw
+ * needs the last frame there.
+ * </p>
+ *
+ * @see Canvas
+ * @see JITApplet
+ */
+final class FrameBuffer {
+
+	/** The mask of the image index in the latest state. */
+	private static final int INDEX = 3;
+
+	/** The flag of the latest state, set if it was not painted yet. */
+	private static final int FRESH = 4;
+
+	/** The three images, created on the first publishing. */
+	private final BufferedImage[] images = new BufferedImage[3];
+
+	/** The index of the latest complete frame and the fresh-flag. */
+	private final AtomicInteger latest = new AtomicInteger(2);
+
+	/** The index of the back image, only used by the publishing thread. */
+	private int back = 0;
+
+	/** The index of the front image, only used by the painting thread. */
+	private int front = 1;
+
+	/**
+	 * Copies a complete frame into the back image and makes it the latest
+	 * frame.
+	 *
+	 * @param frame
+	 *            the image of the frame, nothing is published if null
+	 */
+	void publish(Image frame) {
+		if (frame == null)
+			return;
+		int width = frame.getWidth(null);
+		int height = frame.getHeight(null);
+		if (width <= 0 || height <= 0)
+			return;
+
+		BufferedImage image = images[back];
+		if (image == null || image.getWidth() != width
+				|| image.getHeight() != height) {
+			image = createImage(frame, width, height);
+			images[back] = image;
+		}
+		Graphics2D g = image.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		g.drawImage(frame, 0, 0, null);
+		g.dispose();
+
+		back = latest.getAndSet(back | FRESH) & INDEX;
+	}
+
+	/**
+	 * Gets the latest complete frame to paint, called by the
+	 * event-dispatcher.
+	 *
+	 * @return the image, null if nothing was published yet
+	 */
+	synchronized Image acquire() {
+		if ((latest.get() & FRESH) != 0)
+			front = latest.getAndSet(front) & INDEX;
+		return images[front];
+	}
+
+	/**
+	 * Creates an image like the image of the frame.
+	 *
+	 * @param frame
+	 *            the image of the frame
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @return the image
+	 */
+	private static BufferedImage createImage(Image frame, int width,
+			int height) {
+		int type = BufferedImage.TYPE_INT_RGB;
+		if (frame instanceof BufferedImage) {
+			int frameType = ((BufferedImage) frame).getType();
+			if (frameType != BufferedImage.TYPE_CUSTOM)
+				type = frameType;
+		}
+		return new BufferedImage(width, height, type);
+	}
+}
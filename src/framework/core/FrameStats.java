@@ -0,0 +1,567 @@
+package framework.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The Class FrameStats measures how long each phase of a frame takes, in
+ * nanoseconds.
+ * 
+ * <p>
+ * The durations are counted in a histogram per phase and time window (one
+ * second by default). The histograms of the last complete window are available
+ * as <code>Snapshot</code>s with the median, the 99th percentile and the
+ * maximum, e.g. to log them or to raise an alert if the frames take longer
+ * than their budget:
+ * </p>
+ * <code>
+ * <pre>
+ * FrameStats stats = Application.getInstance().getFrameStats();
+ * FrameStats.Snapshot frames = stats.getSnapshot(FrameStats.Phase.FRAME);
+ * if (frames.getP99() > stats.getFrameBudget())
+ * 	System.err.println("Slow frames: " + frames);
+ * </pre>
+ * </code>
+ * <p>
+ * Recording is lock-free and does not allocate, the phases are recorded by
+ * the update-thread and the timer-thread and can be read from any thread. The
+ * buckets of the histograms are 1/8 of a power of two wide, so a percentile is
+ * exact to 12.5%.
+ * </p>
+ * 
+ * @see Application#getFrameStats()
+ */
+public final class FrameStats {
+
+	/**
+	 * The phases of a frame that are measured.
+	 */
+	public enum Phase {
+
+		/**
+		 * The whole work for one frame: the updates since the last frame and
+		 * the redraw, without the time the loop waits.
+		 */
+		FRAME,
+
+		/** The delivery of the key-events. */
+		INPUT,
+
+		/** The update of all objects, including the collision detection. */
+		UPDATE,
+
+		/** The drawing of the objects into the canvas image. */
+		REDRAW,
+
+		/** The repaint or the buffer-flip that shows the canvas image. */
+		PRESENT,
+
+		/**
+		 * The recording of a frame for the render-thread, in the pipelined
+		 * mode. The render-thread records REDRAW and PRESENT then.
+		 */
+		RECORD,
+
+		/** A run of the timer calling the due timed controls. */
+		TIMER
+	}
+
+	/** The number of sub-buckets per power of two, a power of two. */
+	private static final int SUB_BUCKETS = 8;
+
+	/** The bits of the sub-buckets. */
+	private static final int SUB_BUCKET_BITS = 3;
+
+	/** The highest power of two counted, larger values go to the last bucket. */
+	private static final int MAX_EXPONENT = 40;
+
+	/** The number of buckets. */
+	static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2)
+			* SUB_BUCKETS;
+
+	/** The default length of a window, one second. */
+	private static final long DEFAULT_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+	/** The default frame budget, a frame at 60 frames per second. */
+	private static final long DEFAULT_FRAME_BUDGET = TimeUnit.SECONDS
+			.toNanos(1) / 60;
+
+	/**
+	 * The Class Window is the histogram of one phase in one time window.
+	 */
+	private static final class Window {
+
+		/** The number of the window, -1 if never used. */
+		final AtomicLong epoch = new AtomicLong(-1);
+
+		/** The counts per bucket. */
+		final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+		/** The number of durations. */
+		final AtomicLong count = new AtomicLong();
+
+		/** The sum of all durations. */
+		final AtomicLong total = new AtomicLong();
+
+		/** The longest duration. */
+		final AtomicLong max = new AtomicLong();
+
+		/**
+		 * Clears the histogram.
+		 */
+		void reset() {
+			for (int i = 0; i < BUCKETS; i++)
+				counts.set(i, 0);
+			count.set(0);
+			total.set(0);
+			max.set(0);
+		}
+
+		/**
+		 * Adds a duration.
+		 * 
+		 * @param nanos
+		 *            the duration in nanoseconds
+		 */
+		void add(long nanos) {
+			counts.incrementAndGet(bucket(nanos));
+			count.incrementAndGet();
+			total.addAndGet(nanos);
+			long longest;
+			do {
+				longest = max.get();
+			} while (nanos > longest && !max.compareAndSet(longest, nanos));
+		}
+	}
+
+	/** The two windows of each phase, the current and the last one. */
+	private final Window[][] windows;
+
+	/** The time the stats were created, the start of window 0. */
+	private final long startTime;
+
+	/** The length of a window in nanoseconds. */
+	private volatile long windowLength = DEFAULT_WINDOW;
+
+	/** The frame budget in nanoseconds. */
+	private volatile long frameBudget = DEFAULT_FRAME_BUDGET;
+
+	/** The number of frames that took longer than the budget. */
+	private final AtomicLong budgetViolations = new AtomicLong();
+
+	/** The number of updates skipped to catch up. */
+	private final AtomicLong droppedUpdates = new AtomicLong();
+
+	/** The number of frames skipped to catch up. */
+	private final AtomicLong droppedFrames = new AtomicLong();
+
+	/**
+	 * Instantiates new frame stats.
+	 */
+	FrameStats() {
+		Phase[] phases = Phase.values();
+		windows = new Window[phases.length][2];
+		for (int i = 0; i < phases.length; i++) {
+			windows[i][0] = new Window();
+			windows[i][1] = new Window();
+		}
+		startTime = System.nanoTime();
+	}
+
+	/**
+	 * Records a phase that started at the given time and ends now.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @param start
+	 *            the start of the phase, from <code>System.nanoTime()</code>
+	 * @return the end of the phase, to be used as start of the next one
+	 */
+	long record(Phase phase, long start) {
+		long end = System.nanoTime();
+		record(phase, start, end);
+		return end;
+	}
+
+	/**
+	 * Records a phase.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @param start
+	 *            the start of the phase, from <code>System.nanoTime()</code>
+	 * @param end
+	 *            the end of the phase, from <code>System.nanoTime()</code>
+	 */
+	void record(Phase phase, long start, long end) {
+		long nanos = end - start;
+		if (nanos < 0)
+			nanos = 0;
+		if (phase == Phase.FRAME && nanos > frameBudget)
+			budgetViolations.incrementAndGet();
+
+		long epoch = (end - startTime) / windowLength;
+		Window window = windows[phase.ordinal()][(int) (epoch & 1)];
+		long windowEpoch = window.epoch.get();
+		if (windowEpoch != epoch) {
+			// a window from the past, start it over; samples of a writer
+			// racing with the reset may get lost, that is fine for stats
+			if (windowEpoch > epoch
+					|| !window.epoch.compareAndSet(windowEpoch, epoch)) {
+				if (window.epoch.get() != epoch)
+					return;
+			} else {
+				window.reset();
+			}
+		}
+		window.add(nanos);
+	}
+
+	/**
+	 * Gets the durations of a phase in the last complete window.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @return the snapshot, empty if the phase did not occur in that window
+	 */
+	public Snapshot getSnapshot(Phase phase) {
+		long length = windowLength;
+		long epoch = (System.nanoTime() - startTime) / length - 1;
+		if (epoch < 0)
+			return new Snapshot(phase, length, null, 0, 0, 0);
+		Window window = windows[phase.ordinal()][(int) (epoch & 1)];
+		if (window.epoch.get() != epoch)
+			return new Snapshot(phase, length, null, 0, 0, 0);
+
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+			counts[i] = window.counts.get(i);
+		long count = window.count.get();
+		long total = window.total.get();
+		long max = window.max.get();
+		// the window was started over while copying it
+		if (window.epoch.get() != epoch)
+			return new Snapshot(phase, length, null, 0, 0, 0);
+		return new Snapshot(phase, length, counts, count, total, max);
+	}
+
+	/**
+	 * Sets the length of the windows, the snapshots cover one window each.
+	 * Changing it invalidates the current windows.
+	 * 
+	 * @param length
+	 *            the length
+	 * @param unit
+	 *            the unit of the length
+	 */
+	public void setWindowLength(long length, TimeUnit unit) {
+		long nanos = unit.toNanos(length);
+		if (nanos <= 0) {
+			System.err.println("The window length must be greater than 0!");
+			return;
+		}
+		windowLength = nanos;
+		for (Window[] phaseWindows : windows) {
+			phaseWindows[0].epoch.set(-1);
+			phaseWindows[1].epoch.set(-1);
+		}
+	}
+
+	/**
+	 * Gets the length of the windows.
+	 * 
+	 * @param unit
+	 *            the unit of the length
+	 * @return the length
+	 */
+	public long getWindowLength(TimeUnit unit) {
+		return unit.convert(windowLength, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Sets the frame budget, the time a frame may take at most. Every frame
+	 * that takes longer counts as violation. The default is the time of one
+	 * frame at 60 frames per second.
+	 * 
+	 * @param budget
+	 *            the budget
+	 * @param unit
+	 *            the unit of the budget
+	 */
+	public void setFrameBudget(long budget, TimeUnit unit) {
+		frameBudget = unit.toNanos(budget);
+	}
+
+	/**
+	 * Gets the frame budget in nanoseconds.
+	 * 
+	 * @return the frame budget
+	 */
+	public long getFrameBudget() {
+		return frameBudget;
+	}
+
+	/**
+	 * Gets the number of frames that took longer than the frame budget since
+	 * the start.
+	 * 
+	 * @return the number of violations
+	 */
+	public long getBudgetViolations() {
+		return budgetViolations.get();
+	}
+
+	/**
+	 * Counts updates that were skipped because the loop fell behind.
+	 * 
+	 * @param count
+	 *            the number of skipped updates
+	 */
+	void countDroppedUpdates(long count) {
+		droppedUpdates.addAndGet(count);
+	}
+
+	/**
+	 * Gets the number of updates that were skipped because the loop fell
+	 * behind more than the maximum of updates in a row.
+	 * 
+	 * @return the number of dropped updates
+	 * @see Application#setMaxUpdateSteps(int)
+	 */
+	public long getDroppedUpdates() {
+		return droppedUpdates.get();
+	}
+
+	/**
+	 * Counts frames that were skipped because the loop fell behind.
+	 * 
+	 * @param count
+	 *            the number of skipped frames
+	 */
+	void countDroppedFrames(long count) {
+		droppedFrames.addAndGet(count);
+	}
+
+	/**
+	 * Gets the number of frames that were skipped because the loop fell
+	 * behind the render rate.
+	 * 
+	 * @return the number of dropped frames
+	 * @see Application#setRenderRate(int)
+	 */
+	public long getDroppedFrames() {
+		return droppedFrames.get();
+	}
+
+	/**
+	 * Gets the bucket of a duration.
+	 * 
+	 * @param nanos
+	 *            the duration
+	 * @return the bucket
+	 */
+	static int bucket(long nanos) {
+		if (nanos < SUB_BUCKETS)
+			return (int) nanos;
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		if (exponent > MAX_EXPONENT)
+			return BUCKETS - 1;
+		int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS))
+				& (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Gets the highest duration of a bucket.
+	 * 
+	 * @param bucket
+	 *            the bucket
+	 * @return the duration
+	 */
+	static long highestOf(int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long sub = bucket & (SUB_BUCKETS - 1);
+		long lowest = (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+		return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+
+	/**
+	 * The Class Snapshot holds the durations of a phase in one window, it does
+	 * not change anymore.
+	 */
+	public static final class Snapshot {
+
+		/** The phase. */
+		private final Phase phase;
+
+		/** The length of the window in nanoseconds. */
+		private final long windowLength;
+
+		/** The counts per bucket, null if empty. */
+		private final long[] counts;
+
+		/** The number of durations. */
+		private final long count;
+
+		/** The sum of all durations. */
+		private final long total;
+
+		/** The longest duration. */
+		private final long max;
+
+		/**
+		 * Instantiates a new snapshot.
+		 * 
+		 * @param phase
+		 *            the phase
+		 * @param windowLength
+		 *            the length of the window
+		 * @param counts
+		 *            the counts per bucket
+		 * @param count
+		 *            the number of durations
+		 * @param total
+		 *            the sum of all durations
+		 * @param max
+		 *            the longest duration
+		 */
+		Snapshot(Phase phase, long windowLength, long[] counts, long count,
+				long total, long max) {
+			this.phase = phase;
+			this.windowLength = windowLength;
+			this.counts = counts;
+			this.count = counts != null ? count : 0;
+			this.total = total;
+			this.max = max;
+		}
+
+		/**
+		 * Gets the phase.
+		 * 
+		 * @return the phase
+		 */
+		public Phase getPhase() {
+			return phase;
+		}
+
+		/**
+		 * Gets the number of times the phase occurred in the window.
+		 * 
+		 * @return the count
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * Gets the number of times the phase occurred per second.
+		 * 
+		 * @return the rate
+		 */
+		public double getRate() {
+			return count * (double) TimeUnit.SECONDS.toNanos(1) / windowLength;
+		}
+
+		/**
+		 * Gets the mean duration in nanoseconds.
+		 * 
+		 * @return the mean, 0 if empty
+		 */
+		public long getMean() {
+			return count > 0 ? total / count : 0;
+		}
+
+		/**
+		 * Gets the duration in nanoseconds that the given share of the
+		 * durations did not exceed.
+		 * 
+		 * @param percentile
+		 *            the percentile between 0 and 100, e.g. 99
+		 * @return the duration, 0 if empty
+		 */
+		public long getPercentile(double percentile) {
+			if (count == 0)
+				return 0;
+			long rank = (long) Math.ceil(percentile / 100.0 * count);
+			if (rank < 1)
+				rank = 1;
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= rank)
+					return Math.min(highestOf(i), max);
+			}
+			return max;
+		}
+
+		/**
+		 * Gets the median duration in nanoseconds.
+		 * 
+		 * @return the median
+		 */
+		public long getP50() {
+			return getPercentile(50);
+		}
+
+		/**
+		 * Gets the 99th percentile of the durations in nanoseconds.
+		 * 
+		 * @return the 99th percentile
+		 */
+		public long getP99() {
+			return getPercentile(99);
+		}
+
+		/**
+		 * Gets the longest duration in nanoseconds.
+		 * 
+		 * @return the maximum
+		 */
+		public long getMax() {
+			return max;
+		}
+
+		/**
+		 * Gets the number of durations longer than the given one, exact to
+		 * the width of a bucket.
+		 * 
+		 * @param nanos
+		 *            the duration in nanoseconds
+		 * @return the count
+		 */
+		public long getCountAbove(long nanos) {
+			if (count == 0 || nanos >= max)
+				return 0;
+			long above = 0;
+			for (int i = counts.length - 1; i >= 0 && highestOf(i) > nanos; i--)
+				above += counts[i];
+			return above;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return phase + ": count=" + count + " p50=" + micros(getP50())
+					+ "us p99=" + micros(getP99()) + "us max=" + micros(max)
+					+ "us";
+		}
+
+		/**
+		 * Converts nanoseconds into microseconds for the output.
+		 * 
+		 * @param nanos
+		 *            the nanoseconds
+		 * @return the microseconds
+		 */
+		private static long micros(long nanos) {
+			return TimeUnit.NANOSECONDS.toMicros(nanos);
+		}
+	}
+}
@@ -69,20 +69,20 @@ public abstract class JITApplet extends Applet {
 	/** The Constant serialVersionUID. */
 	private static final long serialVersionUID = -5430727807703927042L;
 
-	/** The image to paint the content on. */
-	private Image canvasImage;
+	/** The complete frames of the canvas to paint. */
+	private FrameBuffer frameBuffer;
 
 	/** The application. */
 	protected Application application;
 
 	/**
-	 * Sets the canvas image.
+	 * Sets the frame buffer the canvas publishes its frames to.
 	 * 
-	 * @param canvasImage
-	 *            the canvas image to draw
+	 * @param frameBuffer
+	 *            the frame buffer to paint from
 	 */
-	void setCanvasImage(Image canvasImage) {
-		this.canvasImage = canvasImage;
+	void setFrameBuffer(FrameBuffer frameBuffer) {
+		this.frameBuffer = frameBuffer;
 	}
 
 	/**
@@ -137,7 +137,11 @@ public abstract class JITApplet extends Applet {
 	 */
 	@Override
 	public void paint(Graphics g) {
-		g.drawImage(canvasImage, 0, 0, null);
+		if (frameBuffer == null)
+			return;
+		Image image = frameBuffer.acquire();
+		if (image != null)
+			g.drawImage(image, 0, 0, null);
 	}
 
 	/*
@@ -0,0 +1,172 @@
+package framework.core;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Shape;
+
+/**
+ * The Class Java2DRenderer draws with Java2D into an image created by a Swing
+ * component, so the image can be shown by the component as fast as possible.
+ *
+ * @see Renderer
+ */
+public class Java2DRenderer implements Renderer {
+
+	/** The component that creates the image. */
+	private final Component component;
+
+	/** The image. */
+	private Image image;
+
+	/** The graphics of the image. */
+	private Graphics2D graphics;
+
+	/**
+	 * Instantiates a new Java2D renderer.
+	 *
+	 * @param component
+	 *            the component that creates the image, must be displayable
+	 *            when the image is created
+	 */
+	public Java2DRenderer(Component component) {
+		this.component = component;
+	}
+
+	/**
+	 * Creates the image to draw into.
+	 *
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @return the image
+	 */
+	protected Image createImage(int width, int height) {
+		return component.createImage(width, height);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#resize(int, int)
+	 */
+	@Override
+	public void resize(int width, int height) {
+		dispose();
+		image = createImage(Math.max(1, width), Math.max(1, height));
+		graphics = (Graphics2D) image.getGraphics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#getImage()
+	 */
+	@Override
+	public Image getImage() {
+		return image;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#getGraphics()
+	 */
+	@Override
+	public Graphics2D getGraphics() {
+		return graphics;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#clear(int, int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void clear(int x, int y, int width, int height, Color color) {
+		graphics.setColor(color);
+		graphics.fillRect(x, y, width, height);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#setClip(int, int, int, int)
+	 */
+	@Override
+	public void setClip(int x, int y, int width, int height) {
+		graphics.setClip(x, y, width, height);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#resetClip()
+	 */
+	@Override
+	public void resetClip() {
+		graphics.setClip(null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#fill(java.awt.Shape, java.awt.Color)
+	 */
+	@Override
+	public void fill(Shape shape, Color color) {
+		graphics.setColor(color);
+		graphics.fill(shape);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawLine(int, int, int, int,
+	 * java.awt.Color)
+	 */
+	@Override
+	public void drawLine(int x1, int y1, int x2, int y2, Color color) {
+		graphics.setColor(color);
+		graphics.drawLine(x1, y1, x2, y2);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawString(java.lang.String, int, int,
+	 * java.awt.Font, java.awt.Color)
+	 */
+	@Override
+	public void drawString(String text, int x, int y, Font font, Color color) {
+		graphics.setColor(color);
+		graphics.setFont(font);
+		graphics.drawString(text, x, y);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawImage(java.awt.Image, int, int)
+	 */
+	@Override
+	public boolean drawImage(Image image, int x, int y) {
+		return graphics.drawImage(image, x, y, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#dispose()
+	 */
+	@Override
+	public void dispose() {
+		if (graphics != null)
+			graphics.dispose();
+		graphics = null;
+		image = null;
+	}
+}
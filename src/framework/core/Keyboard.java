@@ -0,0 +1,409 @@
+package framework.core;
+
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import framework.events.KeyboardControl;
+
+/**
+ * The Class Keyboard is the one and only key-listener of the application.
+ *
+ * <p>
+ * It keeps track of all keys that are currently held down, you can ask for
+ * them at any time, e.g. in your <code>update(Time time)</code> method:
+ * </p>
+ * <code>
+ * <pre>
+ * public void update(Time time) {
+ * 	if (Application.getInstance().getKeyboard().isKeyDown(KeyEvent.VK_LEFT))
+ * 		xPosition -= 1;
+ * }
+ * </pre>
+ * </code>
+ * <p>
+ * All key-events are also put into a ring buffer and delivered to the
+ * subscribed <code>KeyboardControl</code>s at the start of the next update, on
+ * the update-thread. A control can subscribe to all keys or just to the keys
+ * it cares about, so an event is only passed to the controls that want it.
+ * Every control gets an event once, even if it is subscribed to all keys and
+ * to the key of the event. The subscriptions are copied into arrays when they
+ * change, so delivering an event creates no garbage.
+ * </p>
+ *
+ * @see Application#getKeyboard()
+ * @see KeyboardControl
+ */
+public final class Keyboard implements KeyListener {
+
+	/** The number of key-codes that are tracked. */
+	private static final int KEY_CODES = 1 << 16;
+
+	/** The number of events the ring buffer can hold, a power of two. */
+	private static final int EVENT_CAPACITY = 256;
+
+	/** The empty array of controls. */
+	private static final KeyboardControl[] NO_CONTROLS = new KeyboardControl[0];
+
+	/**
+	 * The Class Subscriptions is a snapshot of all subscriptions, replaced as
+	 * a whole on every change.
+	 */
+	private static final class Subscriptions {
+
+		/** The snapshot without any subscription. */
+		static final Subscriptions EMPTY = new Subscriptions(NO_CONTROLS,
+				new int[0], new KeyboardControl[0][]);
+
+		/** The controls subscribed to all keys. */
+		final KeyboardControl[] all;
+
+		/** The key-codes with a subscription, sorted. */
+		final int[] keyCodes;
+
+		/**
+		 * The controls subscribed to each key-code, without the controls
+		 * subscribed to all keys.
+		 */
+		final KeyboardControl[][] keyControls;
+
+		/**
+		 * Instantiates a new snapshot.
+		 *
+		 * @param all
+		 *            the controls subscribed to all keys
+		 * @param keyCodes
+		 *            the key-codes with a subscription, sorted
+		 * @param keyControls
+		 *            the other controls subscribed to each key-code
+		 */
+		Subscriptions(KeyboardControl[] all, int[] keyCodes,
+				KeyboardControl[][] keyControls) {
+			this.all = all;
+			this.keyCodes = keyCodes;
+			this.keyControls = keyControls;
+		}
+
+		/**
+		 * Gets the controls subscribed to a key, without the controls
+		 * subscribed to all keys.
+		 *
+		 * @param keyCode
+		 *            the key-code
+		 * @return the controls, null if there are none
+		 */
+		KeyboardControl[] get(int keyCode) {
+			int index = Arrays.binarySearch(keyCodes, keyCode);
+			return index >= 0 ? keyControls[index] : null;
+		}
+	}
+
+	/** The keys held down, one bit per key-code. */
+	private final AtomicLongArray pressedKeys;
+
+	/** The ring buffer of the events not delivered yet. */
+	private final KeyEvent[] events;
+
+	/** The sequence of the next event written. */
+	private final AtomicLong head;
+
+	/** The sequence of the next event delivered. */
+	private final AtomicLong tail;
+
+	/** The number of events dropped because the buffer was full. */
+	private final AtomicLong droppedEvents;
+
+	/** The controls subscribed to all keys, guarded by itself. */
+	private final ArrayList<KeyboardControl> controls;
+
+	/** The controls subscribed to single keys, guarded by the controls. */
+	private final HashMap<Integer, ArrayList<KeyboardControl>> keyControls;
+
+	/** The snapshot of the subscriptions read by the dispatch. */
+	private volatile Subscriptions subscriptions = Subscriptions.EMPTY;
+
+	/**
+	 * Instantiates a new keyboard.
+	 */
+	Keyboard() {
+		pressedKeys = new AtomicLongArray(KEY_CODES / 64);
+		events = new KeyEvent[EVENT_CAPACITY];
+		head = new AtomicLong();
+		tail = new AtomicLong();
+		droppedEvents = new AtomicLong();
+		controls = new ArrayList<KeyboardControl>();
+		keyControls = new HashMap<Integer, ArrayList<KeyboardControl>>();
+	}
+
+	/**
+	 * Checks if a key is held down.
+	 *
+	 * @param keyCode
+	 *            the key-code, e.g. <code>KeyEvent.VK_SPACE</code>
+	 * @return true, if the key is down
+	 */
+	public boolean isKeyDown(int keyCode) {
+		if (keyCode < 0 || keyCode >= KEY_CODES)
+			return false;
+		return (pressedKeys.get(keyCode >>> 6) & (1L << keyCode)) != 0;
+	}
+
+	/**
+	 * Subscribes a control to all keys.
+	 *
+	 * @param control
+	 *            the control
+	 */
+	public void subscribe(KeyboardControl control) {
+		synchronized (controls) {
+			if (indexOf(controls, control) < 0) {
+				controls.add(control);
+				updateSubscriptions();
+			}
+		}
+	}
+
+	/**
+	 * Subscribes a control to the given keys only.
+	 *
+	 * @param control
+	 *            the control
+	 * @param keyCodes
+	 *            the key-codes, e.g. <code>KeyEvent.VK_SPACE</code>
+	 */
+	public void subscribe(KeyboardControl control, int... keyCodes) {
+		synchronized (controls) {
+			for (int keyCode : keyCodes) {
+				Integer key = Integer.valueOf(keyCode);
+				ArrayList<KeyboardControl> list = keyControls.get(key);
+				if (list == null) {
+					list = new ArrayList<KeyboardControl>();
+					keyControls.put(key, list);
+				}
+				if (indexOf(list, control) < 0)
+					list.add(control);
+			}
+			updateSubscriptions();
+		}
+	}
+
+	/**
+	 * Unsubscribes a control from all keys.
+	 *
+	 * @param control
+	 *            the control
+	 */
+	public void unsubscribe(KeyboardControl control) {
+		synchronized (controls) {
+			int index = indexOf(controls, control);
+			if (index >= 0)
+				controls.remove(index);
+			for (ArrayList<KeyboardControl> list : keyControls.values()) {
+				index = indexOf(list, control);
+				if (index >= 0)
+					list.remove(index);
+			}
+			updateSubscriptions();
+		}
+	}
+
+	/**
+	 * Replaces the snapshot of the subscriptions, called on every change. A
+	 * control subscribed to all keys is left out of the single keys, so it
+	 * gets every event once.
+	 */
+	private void updateSubscriptions() {
+		IdentityHashMap<KeyboardControl, Boolean> all = new IdentityHashMap<KeyboardControl, Boolean>();
+		for (KeyboardControl control : controls)
+			all.put(control, Boolean.TRUE);
+
+		TreeMap<Integer, KeyboardControl[]> keys = new TreeMap<Integer, KeyboardControl[]>();
+		ArrayList<KeyboardControl> others = new ArrayList<KeyboardControl>();
+		for (Map.Entry<Integer, ArrayList<KeyboardControl>> entry : keyControls
+				.entrySet()) {
+			others.clear();
+			for (KeyboardControl control : entry.getValue()) {
+				if (!all.containsKey(control))
+					others.add(control);
+			}
+			if (!others.isEmpty())
+				keys.put(entry.getKey(), others.toArray(NO_CONTROLS));
+		}
+
+		int[] keyCodes = new int[keys.size()];
+		KeyboardControl[][] targets = new KeyboardControl[keys.size()][];
+		int i = 0;
+		for (Map.Entry<Integer, KeyboardControl[]> entry : keys.entrySet()) {
+			keyCodes[i] = entry.getKey().intValue();
+			targets[i] = entry.getValue();
+			i++;
+		}
+		subscriptions = new Subscriptions(controls.toArray(NO_CONTROLS),
+				keyCodes, targets);
+	}
+
+	/**
+	 * Gets the index of a control in a list, by identity.
+	 *
+	 * @param list
+	 *            the list
+	 * @param control
+	 *            the control
+	 * @return the index, -1 if the control is not in the list
+	 */
+	private static int indexOf(ArrayList<KeyboardControl> list,
+			KeyboardControl control) {
+		for (int i = 0; i < list.size(); i++) {
+			if (list.get(i) == control)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the number of events dropped because they were not delivered in
+	 * time, e.g. while the application was paused.
+	 *
+	 * @return the dropped events
+	 */
+	public long getDroppedEvents() {
+		return droppedEvents.get();
+	}
+
+	/**
+	 * Delivers all events since the last call to the subscribed controls.
+	 * Called by the application at the start of every update.
+	 */
+	void dispatch() {
+		long sequence = tail.get();
+		long end = head.get();
+		while (sequence < end) {
+			int index = (int) sequence & (EVENT_CAPACITY - 1);
+			KeyEvent event = events[index];
+			events[index] = null;
+			sequence++;
+			tail.lazySet(sequence);
+			deliver(event);
+		}
+	}
+
+	/**
+	 * Delivers one event to the controls that are subscribed to it.
+	 *
+	 * @param event
+	 *            the event
+	 */
+	private void deliver(KeyEvent event) {
+		Subscriptions current = subscriptions;
+		KeyboardControl[] all = current.all;
+		for (int i = 0; i < all.length; i++)
+			deliver(all[i], event);
+
+		if (event.getID() == KeyEvent.KEY_TYPED)
+			return;
+		KeyboardControl[] others = current.get(event.getKeyCode());
+		if (others != null) {
+			for (int i = 0; i < others.length; i++)
+				deliver(others[i], event);
+		}
+	}
+
+	/**
+	 * Delivers one event to a control.
+	 *
+	 * @param control
+	 *            the control
+	 * @param event
+	 *            the event
+	 */
+	private static void deliver(KeyboardControl control, KeyEvent event) {
+		switch (event.getID()) {
+		case KeyEvent.KEY_PRESSED:
+			control.keyPressed(event);
+			break;
+		case KeyEvent.KEY_RELEASED:
+			control.keyReleased(event);
+			break;
+		case KeyEvent.KEY_TYPED:
+			control.keyTyped(event);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Puts an event into the ring buffer, drops it if the buffer is full.
+	 *
+	 * @param event
+	 *            the event
+	 */
+	private synchronized void offer(KeyEvent event) {
+		long sequence = head.get();
+		if (sequence - tail.get() >= EVENT_CAPACITY) {
+			droppedEvents.incrementAndGet();
+			return;
+		}
+		events[(int) sequence & (EVENT_CAPACITY - 1)] = event;
+		head.lazySet(sequence + 1);
+	}
+
+	/**
+	 * Sets the bit of a key.
+	 *
+	 * @param keyCode
+	 *            the key-code
+	 * @param down
+	 *            true, if the key is held down
+	 */
+	private void setKeyDown(int keyCode, boolean down) {
+		if (keyCode < 0 || keyCode >= KEY_CODES)
+			return;
+		int index = keyCode >>> 6;
+		long bit = 1L << keyCode;
+		long bits;
+		do {
+			bits = pressedKeys.get(index);
+		} while (!pressedKeys.compareAndSet(index, bits, down ? bits | bit
+				: bits & ~bit));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.awt.event.KeyListener#keyPressed(java.awt.event.KeyEvent)
+	 */
+	@Override
+	public void keyPressed(KeyEvent event) {
+		setKeyDown(event.getKeyCode(), true);
+		offer(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.awt.event.KeyListener#keyReleased(java.awt.event.KeyEvent)
+	 */
+	@Override
+	public void keyReleased(KeyEvent event) {
+		setKeyDown(event.getKeyCode(), false);
+		offer(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.awt.event.KeyListener#keyTyped(java.awt.event.KeyEvent)
+	 */
+	@Override
+	public void keyTyped(KeyEvent event) {
+		offer(event);
+	}
+}
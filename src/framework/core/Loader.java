@@ -0,0 +1,169 @@
+package framework.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * The Class Loader is a loading function added to the application, e.g. to
+ * load the images and data before the application starts.
+ *
+ * <p>
+ * A loader may depend on other loaders, it is executed after all of them are
+ * loaded. Loaders without a dependency between them are executed in parallel.
+ * The dependencies are the loaders returned by
+ * <code>Application.addLoadingFunction()</code> before, so there can never be
+ * a cycle. If a loader fails, all loaders depending on it are skipped.
+ * </p>
+ *
+ * @see Application#addLoadingFunction(Object, String, Loader...)
+ * @see Application#addLoadingFunction(Runnable, Loader...)
+ */
+public final class Loader {
+
+	/**
+	 * The states of a loader.
+	 */
+	public enum State {
+
+		/** Waiting for the start or the dependencies. */
+		WAITING,
+
+		/** The function is executed. */
+		RUNNING,
+
+		/** The function returned without an error. */
+		DONE,
+
+		/** The function failed. */
+		FAILED,
+
+		/** Not executed, because a dependency failed. */
+		SKIPPED
+	}
+
+	/** The function bound to its carrier. */
+	private final Callable<?> function;
+
+	/** The class carrying the function. */
+	private final Class<?> carrierType;
+
+	/** The name of the function. */
+	private final String name;
+
+	/** The loaders this one depends on. */
+	private final Loader[] dependencies;
+
+	/** The loaders depending on this one, guarded by the loader graph. */
+	final List<Loader> dependents = new ArrayList<Loader>();
+
+	/** The number of dependencies not loaded yet, guarded by the graph. */
+	int remaining;
+
+	/** The state. */
+	private volatile State state = State.WAITING;
+
+	/**
+	 * Instantiates a new loader.
+	 *
+	 * @param function
+	 *            the function bound to its carrier
+	 * @param carrierType
+	 *            the class carrying the function
+	 * @param name
+	 *            the name of the function
+	 * @param dependencies
+	 *            the loaders this one depends on
+	 */
+	Loader(Callable<?> function, Class<?> carrierType, String name,
+			Loader[] dependencies) {
+		this.function = function;
+		this.carrierType = carrierType;
+		this.name = name;
+		this.dependencies = dependencies != null ? dependencies.clone()
+				: new Loader[0];
+	}
+
+	/**
+	 * Executes the function, the errors are printed.
+	 *
+	 * @return true, if the function returned without an error
+	 */
+	boolean run() {
+		state = State.RUNNING;
+		boolean success = WorkerThread.invoke(function, carrierType, name);
+		state = success ? State.DONE : State.FAILED;
+		return success;
+	}
+
+	/**
+	 * Sets the state.
+	 *
+	 * @param state
+	 *            the new state
+	 */
+	void setState(State state) {
+		this.state = state;
+	}
+
+	/**
+	 * Gets the loaders this one depends on.
+	 *
+	 * @return the dependencies
+	 */
+	public Loader[] getDependencies() {
+		return dependencies.clone();
+	}
+
+	/**
+	 * Gets the loaders this one depends on, without a copy.
+	 *
+	 * @return the dependencies
+	 */
+	Loader[] dependencies() {
+		return dependencies;
+	}
+
+	/**
+	 * Gets the name of the function.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the state.
+	 *
+	 * @return the state
+	 */
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * Checks if the loader is finished, loaded, failed or skipped.
+	 *
+	 * @return true, if finished
+	 */
+	public boolean isFinished() {
+		State current = state;
+		return current == State.DONE || current == State.FAILED
+				|| current == State.SKIPPED;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		// anonymous classes have no simple name
+		String type = carrierType.getSimpleName();
+		if (type.isEmpty())
+			type = carrierType.getName();
+		return type + "." + name + "()";
+	}
+}
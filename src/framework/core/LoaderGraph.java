@@ -0,0 +1,223 @@
+package framework.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The Class LoaderGraph executes the loaders of the application in the order
+ * of their dependencies.
+ *
+ * <p>
+ * On the start all loaders without a dependency are submitted as tasks at
+ * once. Every finished loader submits the loaders depending on it whose last
+ * dependency it was, a failed loader skips them. When all loaders are
+ * finished, the graph signals it once to the update-thread. Loaders added
+ * after the start are submitted as soon as their dependencies are loaded.
+ * </p>
+ *
+ * @see Loader
+ * @see Application#submit(Callable)
+ */
+final class LoaderGraph {
+
+	/** The application submitting the tasks. */
+	private final Application application;
+
+	/** All loaders, in the order they were added. */
+	private final List<Loader> loaders = new ArrayList<Loader>();
+
+	/** The started-flag, set by the start of the application. */
+	private volatile boolean started;
+
+	/** The cancelled-flag, nothing is submitted after the termination. */
+	private boolean cancelled;
+
+	/** The number of loaders. */
+	private volatile int total;
+
+	/** The number of finished loaders, loaded, failed or skipped. */
+	private volatile int finished;
+
+	/** The loaded-signal, set when all loaders are finished. */
+	private final AtomicBoolean loadedSignal = new AtomicBoolean();
+
+	/**
+	 * Instantiates a new loader graph.
+	 *
+	 * @param application
+	 *            the application submitting the tasks
+	 */
+	LoaderGraph(Application application) {
+		this.application = application;
+	}
+
+	/**
+	 * Adds a loader, it is submitted when the graph is started and all its
+	 * dependencies are loaded.
+	 *
+	 * @param loader
+	 *            the loader
+	 * @return the loader
+	 */
+	synchronized Loader add(Loader loader) {
+		int remaining = 0;
+		boolean failed = false;
+		for (Loader dependency : loader.dependencies()) {
+			if (dependency == null)
+				continue;
+			if (!loaders.contains(dependency)) {
+				System.err.println("The loader " + dependency
+						+ " was not added to this application, " + loader
+						+ " does not depend on it!");
+				continue;
+			}
+			Loader.State state = dependency.getState();
+			if (state == Loader.State.DONE)
+				continue;
+			if (state == Loader.State.FAILED || state == Loader.State.SKIPPED) {
+				failed = true;
+				continue;
+			}
+			dependency.dependents.add(loader);
+			remaining++;
+		}
+		loader.remaining = remaining;
+		loaders.add(loader);
+		total = loaders.size();
+
+		if (failed)
+			skip(loader);
+		else if (started && remaining == 0)
+			submit(loader);
+		checkLoaded();
+		return loader;
+	}
+
+	/**
+	 * Starts the graph, all loaders without a dependency are submitted.
+	 */
+	synchronized void start() {
+		if (started)
+			return;
+		started = true;
+		for (int i = 0; i < loaders.size(); i++) {
+			Loader loader = loaders.get(i);
+			if (loader.remaining == 0
+					&& loader.getState() == Loader.State.WAITING)
+				submit(loader);
+		}
+		checkLoaded();
+	}
+
+	/**
+	 * Cancels the graph, no more loaders are submitted. The submitted tasks
+	 * are cancelled by the application.
+	 */
+	synchronized void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Submits a loader as task.
+	 *
+	 * @param loader
+	 *            the loader
+	 */
+	private void submit(final Loader loader) {
+		if (cancelled)
+			return;
+		loader.setState(Loader.State.RUNNING);
+		application.submit(new Callable<Boolean>() {
+
+			/*
+			 * (non-Javadoc)
+			 *
+			 * @see java.util.concurrent.Callable#call()
+			 */
+			@Override
+			public Boolean call() {
+				boolean success = loader.run();
+				finish(loader, success);
+				return Boolean.valueOf(success);
+			}
+		});
+	}
+
+	/**
+	 * Finishes a loader and submits or skips the loaders depending on it.
+	 *
+	 * @param loader
+	 *            the finished loader
+	 * @param success
+	 *            true, if the loader returned without an error
+	 */
+	private synchronized void finish(Loader loader, boolean success) {
+		finished++;
+		for (int i = 0; i < loader.dependents.size(); i++) {
+			Loader dependent = loader.dependents.get(i);
+			if (!success)
+				skip(dependent);
+			else if (--dependent.remaining == 0
+					&& dependent.getState() == Loader.State.WAITING)
+				submit(dependent);
+		}
+		loader.dependents.clear();
+		checkLoaded();
+	}
+
+	/**
+	 * Skips a loader and all loaders depending on it, a dependency failed.
+	 *
+	 * @param loader
+	 *            the loader
+	 */
+	private void skip(Loader loader) {
+		if (loader.getState() != Loader.State.WAITING)
+			return;
+		loader.setState(Loader.State.SKIPPED);
+		System.err.println("The loader " + loader
+				+ " was skipped, a dependency failed!");
+		finished++;
+		for (int i = 0; i < loader.dependents.size(); i++)
+			skip(loader.dependents.get(i));
+		loader.dependents.clear();
+	}
+
+	/**
+	 * Sets the loaded-signal, if all loaders are finished.
+	 */
+	private void checkLoaded() {
+		if (started && finished == total)
+			loadedSignal.set(true);
+	}
+
+	/**
+	 * Gets the part of the loaders that are finished.
+	 *
+	 * @return the progress between 0 and 1, 1 if there are no loaders
+	 */
+	float getProgress() {
+		int count = total;
+		return count == 0 ? 1f : Math.min(1f, (float) finished / count);
+	}
+
+	/**
+	 * Checks if the graph was started and all loaders are finished.
+	 *
+	 * @return true, if everything is loaded
+	 */
+	boolean isLoaded() {
+		return started && finished == total;
+	}
+
+	/**
+	 * Takes the loaded-signal, called by the update-thread.
+	 *
+	 * @return true, if all loaders finished since the last call
+	 */
+	boolean pollLoaded() {
+		return loadedSignal.compareAndSet(true, false) && isLoaded();
+	}
+}
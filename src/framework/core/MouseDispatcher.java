@@ -0,0 +1,613 @@
+package framework.core;
+
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import framework.events.MouseControl;
+import framework.objects.base.CanvasObject;
+
+/**
+ * The Class MouseDispatcher is the one and only mouse-listener of the canvas.
+ *
+ * <p>
+ * All canvas objects that are mouse controls are stored in a spatial hash: a
+ * grid of cells of 64 pixels, each knowing the objects whose bounds overlap
+ * it. A mouse event only tests the objects of the cell
+ * under the mouse and is delivered to the topmost object that contains the
+ * point, instead of every object on the canvas. A pressed object also
+ * receives the dragging and the release, wherever they happen.
+ * </p>
+ *
+ * <p>
+ * Mouse controls that are no canvas objects receive all events, just like a
+ * plain listener. The bounds of the objects are refreshed once per redraw by
+ * <code>update()</code>. The cells are kept by a table with primitive keys and
+ * reused when they get empty, so moving objects create no garbage.
+ * </p>
+ *
+ * @see Canvas
+ * @see CanvasObject#getBounds(Rectangle)
+ */
+final class MouseDispatcher implements MouseListener, MouseMotionListener,
+		MouseWheelListener {
+
+	/** The size of a cell of the grid in pixels, as power of two (64). */
+	static final int CELL_SHIFT = 6;
+
+	/** The maximum of cells of an object, bigger ones are always tested. */
+	private static final int MAX_CELLS = 64;
+
+	/**
+	 * The Class Target is a canvas object in the grid.
+	 */
+	private static final class Target {
+
+		/** The object. */
+		final CanvasObject object;
+
+		/** The bounds of the object. */
+		final Rectangle bounds = new Rectangle();
+
+		/** The index in the target list. */
+		int index;
+
+		/** The placed-flag, true if the object is in the cells below. */
+		boolean placed;
+
+		/** The cells the object is put into, first column. */
+		int minColumn;
+
+		/** The first row. */
+		int minRow;
+
+		/** The last column. */
+		int maxColumn;
+
+		/** The last row. */
+		int maxRow;
+
+		/** The oversized-flag, true if the object is in no cell. */
+		boolean oversized;
+
+		/**
+		 * Instantiates a new target.
+		 *
+		 * @param object
+		 *            the object
+		 */
+		Target(CanvasObject object) {
+			this.object = object;
+		}
+	}
+
+	/**
+	 * The Class CellTable maps the keys of the cells to their targets, an open
+	 * addressed hash table with linear probing. Cells that get empty stay in
+	 * the table to be reused, they are dropped when the table is rebuilt.
+	 */
+	private static final class CellTable {
+
+		/** The minimum capacity, a power of two. */
+		private static final int MIN_CAPACITY = 64;
+
+		/** The keys of the cells. */
+		private long[] keys = new long[MIN_CAPACITY];
+
+		/** The cells, null for a free slot. */
+		private Object[] cells = new Object[MIN_CAPACITY];
+
+		/** The number of cells in the table. */
+		private int size;
+
+		/** The number of cells without a target. */
+		private int empty;
+
+		/**
+		 * Gets the cell of a key.
+		 *
+		 * @param key
+		 *            the key
+		 * @return the cell, null if there is none
+		 */
+		@SuppressWarnings("unchecked")
+		ArrayList<Target> get(long key) {
+			int mask = keys.length - 1;
+			for (int i = hash(key) & mask; cells[i] != null; i = (i + 1) & mask) {
+				if (keys[i] == key)
+					return (ArrayList<Target>) cells[i];
+			}
+			return null;
+		}
+
+		/**
+		 * Adds a target to the cell of a key, the cell is created if there is
+		 * none.
+		 *
+		 * @param key
+		 *            the key
+		 * @param target
+		 *            the target
+		 */
+		@SuppressWarnings("unchecked")
+		void add(long key, Target target) {
+			int mask = keys.length - 1;
+			int i = hash(key) & mask;
+			for (; cells[i] != null; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					ArrayList<Target> cell = (ArrayList<Target>) cells[i];
+					if (cell.isEmpty())
+						empty--;
+					cell.add(target);
+					return;
+				}
+			}
+			ArrayList<Target> cell = new ArrayList<Target>(4);
+			cell.add(target);
+			keys[i] = key;
+			cells[i] = cell;
+			size++;
+			// at most half full, so the probing stays short
+			if (size * 2 > keys.length)
+				rebuild();
+		}
+
+		/**
+		 * Removes a target from the cell of a key.
+		 *
+		 * @param key
+		 *            the key
+		 * @param target
+		 *            the target
+		 */
+		void remove(long key, Target target) {
+			ArrayList<Target> cell = get(key);
+			if (cell == null || !cell.remove(target) || !cell.isEmpty())
+				return;
+			empty++;
+			if (empty * 2 > size && size > MIN_CAPACITY / 2)
+				rebuild();
+		}
+
+		/**
+		 * Rebuilds the table without the empty cells, with a capacity for
+		 * twice the cells.
+		 */
+		@SuppressWarnings("unchecked")
+		private void rebuild() {
+			long[] oldKeys = keys;
+			Object[] oldCells = cells;
+			int capacity = MIN_CAPACITY;
+			while (capacity < (size - empty) * 4)
+				capacity <<= 1;
+			keys = new long[capacity];
+			cells = new Object[capacity];
+			size = 0;
+			empty = 0;
+			int mask = capacity - 1;
+			for (int j = 0; j < oldCells.length; j++) {
+				ArrayList<Target> cell = (ArrayList<Target>) oldCells[j];
+				if (cell == null || cell.isEmpty())
+					continue;
+				int i = hash(oldKeys[j]) & mask;
+				while (cells[i] != null)
+					i = (i + 1) & mask;
+				keys[i] = oldKeys[j];
+				cells[i] = cell;
+				size++;
+			}
+		}
+
+		/**
+		 * Spreads the bits of a key.
+		 *
+		 * @param key
+		 *            the key
+		 * @return the hash
+		 */
+		private static int hash(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+	}
+
+	/** The canvas that draws the objects. */
+	private final Canvas canvas;
+
+	/** The mouse controls that receive all events. */
+	private final CopyOnWriteArrayList<MouseControl> listeners;
+
+	/** The targets in a list. */
+	private final ArrayList<Target> targets;
+
+	/** The targets by their objects. */
+	private final IdentityHashMap<CanvasObject, Target> targetMap;
+
+	/** The cells of the grid, by column and row. */
+	private final CellTable cells;
+
+	/** The targets that are too big for the cells. */
+	private final ArrayList<Target> oversized;
+
+	/** The bounds used during the update. */
+	private final Rectangle bounds = new Rectangle();
+
+	/** The object the mouse was pressed on. */
+	private CanvasObject pressed;
+
+	/** The object the mouse is over. */
+	private CanvasObject hovered;
+
+	/**
+	 * Instantiates a new mouse dispatcher.
+	 *
+	 * @param canvas
+	 *            the canvas drawing the objects
+	 */
+	MouseDispatcher(Canvas canvas) {
+		this.canvas = canvas;
+		listeners = new CopyOnWriteArrayList<MouseControl>();
+		targets = new ArrayList<Target>();
+		targetMap = new IdentityHashMap<CanvasObject, Target>();
+		cells = new CellTable();
+		oversized = new ArrayList<Target>();
+	}
+
+	/**
+	 * Adds a mouse control. Canvas objects are put into the grid, all other
+	 * controls receive every event.
+	 *
+	 * @param control
+	 *            the control
+	 */
+	void add(MouseControl control) {
+		if (control instanceof CanvasObject) {
+			CanvasObject object = (CanvasObject) control;
+			synchronized (this) {
+				if (targetMap.containsKey(object))
+					return;
+				Target target = new Target(object);
+				object.getBounds(target.bounds);
+				target.index = targets.size();
+				targets.add(target);
+				targetMap.put(object, target);
+				place(target);
+			}
+		} else {
+			listeners.addIfAbsent(control);
+		}
+	}
+
+	/**
+	 * Removes a mouse control.
+	 *
+	 * @param control
+	 *            the control
+	 */
+	void remove(MouseControl control) {
+		if (control instanceof CanvasObject) {
+			synchronized (this) {
+				Target target = targetMap.remove(control);
+				if (target == null)
+					return;
+				unplace(target);
+				Target last = targets.remove(targets.size() - 1);
+				if (last != target) {
+					targets.set(target.index, last);
+					last.index = target.index;
+				}
+				if (pressed == control)
+					pressed = null;
+				if (hovered == control)
+					hovered = null;
+			}
+		} else {
+			listeners.remove(control);
+		}
+	}
+
+	/**
+	 * Refreshes the bounds of all objects, objects that moved to other cells
+	 * are moved in the grid.
+	 */
+	synchronized void update() {
+		for (int i = 0; i < targets.size(); i++) {
+			Target target = targets.get(i);
+			target.object.getBounds(bounds);
+			if (!bounds.equals(target.bounds)) {
+				target.bounds.setBounds(bounds);
+				place(target);
+			}
+		}
+	}
+
+	/**
+	 * Finds the topmost visible object that contains the point.
+	 *
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @return the object, or null if there is none
+	 */
+	synchronized CanvasObject findTarget(int x, int y) {
+		CanvasObject result = null;
+		long resultOrder = Long.MIN_VALUE;
+
+		ArrayList<Target> cell = cells.get(key(column(x), row(y)));
+		if (cell != null) {
+			for (int i = 0; i < cell.size(); i++) {
+				CanvasObject object = cell.get(i).object;
+				long order = canvas.getDrawKey(object);
+				if (order > resultOrder && isHit(object, x, y)) {
+					result = object;
+					resultOrder = order;
+				}
+			}
+		}
+		for (int i = 0; i < oversized.size(); i++) {
+			CanvasObject object = oversized.get(i).object;
+			long order = canvas.getDrawKey(object);
+			if (order > resultOrder && isHit(object, x, y)) {
+				result = object;
+				resultOrder = order;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Checks if a visible object contains the point.
+	 *
+	 * @param object
+	 *            the object
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @return true, if it is hit
+	 */
+	private boolean isHit(CanvasObject object, int x, int y) {
+		return object.isVisible() && object.contains(x, y);
+	}
+
+	/**
+	 * Puts a target into the cells of its bounds.
+	 *
+	 * @param target
+	 *            the target
+	 */
+	private void place(Target target) {
+		Rectangle b = target.bounds;
+		int minColumn = column(b.x);
+		int minRow = row(b.y);
+		int maxColumn = column(b.x + b.width);
+		int maxRow = row(b.y + b.height);
+
+		boolean tooBig = (long) (maxColumn - minColumn + 1)
+				* (maxRow - minRow + 1) > MAX_CELLS;
+		if (tooBig && target.oversized)
+			return;
+		if (!tooBig && target.placed && target.minColumn == minColumn
+				&& target.minRow == minRow && target.maxColumn == maxColumn
+				&& target.maxRow == maxRow)
+			return;
+
+		unplace(target);
+		if (tooBig) {
+			target.oversized = true;
+			oversized.add(target);
+			return;
+		}
+		target.placed = true;
+		target.minColumn = minColumn;
+		target.minRow = minRow;
+		target.maxColumn = maxColumn;
+		target.maxRow = maxRow;
+		for (int column = minColumn; column <= maxColumn; column++) {
+			for (int row = minRow; row <= maxRow; row++)
+				cells.add(key(column, row), target);
+		}
+	}
+
+	/**
+	 * Removes a target from its cells.
+	 *
+	 * @param target
+	 *            the target
+	 */
+	private void unplace(Target target) {
+		if (target.oversized) {
+			oversized.remove(target);
+			target.oversized = false;
+		}
+		// -1 is a column as well, left of the canvas
+		if (!target.placed)
+			return;
+		for (int column = target.minColumn; column <= target.maxColumn; column++) {
+			for (int row = target.minRow; row <= target.maxRow; row++)
+				cells.remove(key(column, row), target);
+		}
+		target.placed = false;
+	}
+
+	/**
+	 * Gets the column of a x-coordinate.
+	 *
+	 * @param x
+	 *            the x
+	 * @return the column
+	 */
+	private static int column(int x) {
+		return x >> CELL_SHIFT;
+	}
+
+	/**
+	 * Gets the row of a y-coordinate.
+	 *
+	 * @param y
+	 *            the y
+	 * @return the row
+	 */
+	private static int row(int y) {
+		return y >> CELL_SHIFT;
+	}
+
+	/**
+	 * Gets the key of a cell.
+	 *
+	 * @param column
+	 *            the column
+	 * @param row
+	 *            the row
+	 * @return the key
+	 */
+	private static long key(int column, int row) {
+		return ((long) column << 32) | (row & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Updates the hovered object, sending exits and enters.
+	 *
+	 * @param target
+	 *            the object under the mouse
+	 * @param event
+	 *            the event
+	 */
+	private void hover(CanvasObject target, MouseEvent event) {
+		CanvasObject previous = hovered;
+		if (previous == target)
+			return;
+		hovered = target;
+		if (previous != null)
+			((MouseControl) previous).mouseExited(event);
+		if (target != null)
+			((MouseControl) target).mouseEntered(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.awt.event.MouseListener#mouseClicked(java.awt.event.MouseEvent)
+	 */
+	@Override
+	public void mouseClicked(MouseEvent event) {
+		CanvasObject target = findTarget(event.getX(), event.getY());
+		if (target != null)
+			((MouseControl) target).mouseClicked(event);
+		for (MouseControl control : listeners)
+			control.mouseClicked(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.awt.event.MouseListener#mousePressed(java.awt.event.MouseEvent)
+	 */
+	@Override
+	public void mousePressed(MouseEvent event) {
+		CanvasObject target = findTarget(event.getX(), event.getY());
+		pressed = target;
+		if (target != null)
+			((MouseControl) target).mousePressed(event);
+		for (MouseControl control : listeners)
+			control.mousePressed(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * java.awt.event.MouseListener#mouseReleased(java.awt.event.MouseEvent)
+	 */
+	@Override
+	public void mouseReleased(MouseEvent event) {
+		CanvasObject target = findTarget(event.getX(), event.getY());
+		CanvasObject source = pressed;
+		pressed = null;
+		if (source != null)
+			((MouseControl) source).mouseReleased(event);
+		if (target != null && target != source)
+			((MouseControl) target).mouseReleased(event);
+		for (MouseControl control : listeners)
+			control.mouseReleased(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.awt.event.MouseListener#mouseEntered(java.awt.event.MouseEvent)
+	 */
+	@Override
+	public void mouseEntered(MouseEvent event) {
+		for (MouseControl control : listeners)
+			control.mouseEntered(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.awt.event.MouseListener#mouseExited(java.awt.event.MouseEvent)
+	 */
+	@Override
+	public void mouseExited(MouseEvent event) {
+		hover(null, event);
+		for (MouseControl control : listeners)
+			control.mouseExited(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * java.awt.event.MouseMotionListener#mouseDragged(java.awt.event.MouseEvent
+	 * )
+	 */
+	@Override
+	public void mouseDragged(MouseEvent event) {
+		CanvasObject target = pressed;
+		if (target == null)
+			target = findTarget(event.getX(), event.getY());
+		if (target != null)
+			((MouseControl) target).mouseDragged(event);
+		for (MouseControl control : listeners)
+			control.mouseDragged(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * java.awt.event.MouseMotionListener#mouseMoved(java.awt.event.MouseEvent)
+	 */
+	@Override
+	public void mouseMoved(MouseEvent event) {
+		CanvasObject target = findTarget(event.getX(), event.getY());
+		hover(target, event);
+		if (target != null)
+			((MouseControl) target).mouseMoved(event);
+		for (MouseControl control : listeners)
+			control.mouseMoved(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.awt.event.MouseWheelListener#mouseWheelMoved(java.awt.event.
+	 * MouseWheelEvent)
+	 */
+	@Override
+	public void mouseWheelMoved(MouseWheelEvent event) {
+		CanvasObject target = findTarget(event.getX(), event.getY());
+		if (target != null)
+			((MouseControl) target).mouseWheelMoved(event);
+		for (MouseControl control : listeners)
+			control.mouseWheelMoved(event);
+	}
+}
@@ -0,0 +1,134 @@
+package framework.core;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Shape;
+
+/**
+ * The Class NullRenderer draws nothing at all.
+ *
+ * <p>
+ * The objects are still ordered and asked to draw themselves, but nothing is
+ * rasterized. Use it to measure the pure update cost or to run the logic of
+ * an application on a server. There is no image, so objects that draw with
+ * <code>RenderContext.getGraphics()</code> have to check it for null.
+ * </p>
+ *
+ * @see Renderer
+ */
+public class NullRenderer implements Renderer {
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#resize(int, int)
+	 */
+	@Override
+	public void resize(int width, int height) {
+		// nothing to create
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#getImage()
+	 */
+	@Override
+	public Image getImage() {
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#getGraphics()
+	 */
+	@Override
+	public Graphics2D getGraphics() {
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#clear(int, int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void clear(int x, int y, int width, int height, Color color) {
+		// draws nothing
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#setClip(int, int, int, int)
+	 */
+	@Override
+	public void setClip(int x, int y, int width, int height) {
+		// draws nothing
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#resetClip()
+	 */
+	@Override
+	public void resetClip() {
+		// draws nothing
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#fill(java.awt.Shape, java.awt.Color)
+	 */
+	@Override
+	public void fill(Shape shape, Color color) {
+		// draws nothing
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawLine(int, int, int, int,
+	 * java.awt.Color)
+	 */
+	@Override
+	public void drawLine(int x1, int y1, int x2, int y2, Color color) {
+		// draws nothing
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawString(java.lang.String, int, int,
+	 * java.awt.Font, java.awt.Color)
+	 */
+	@Override
+	public void drawString(String text, int x, int y, Font font, Color color) {
+		// draws nothing
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#drawImage(java.awt.Image, int, int)
+	 */
+	@Override
+	public boolean drawImage(Image image, int x, int y) {
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Renderer#dispose()
+	 */
+	@Override
+	public void dispose() {
+		// nothing to release
+	}
+}
@@ -0,0 +1,382 @@
+package framework.core;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The Class ObjectRegistry stores the objects of the application in a plain
+ * array, that can be walked through every tick without copying.
+ *
+ * <p>
+ * Adding and removing can be done from every thread (the event-dispatcher,
+ * worker-threads or timers), but is not done at once: the changes are put into
+ * a lock-free queue and applied by <code>applyPending()</code> at the start of
+ * the next tick. The objects are told apart by identity, not by
+ * <code>equals()</code>, so two equal objects are both kept and an object that
+ * changes its hash code can still be removed. Every object knows its slot in
+ * the array. A removed object
+ * leaves a gap, all gaps are closed in one pass after the changes are applied,
+ * so the objects stay in the order they were added.
+ * </p>
+ *
+ * <p>
+ * Every added object gets a sequence number, that tells the order the objects
+ * were added, even after objects moved to other slots.
+ * </p>
+ *
+ * @param <T>
+ *            the type of the objects
+ */
+final class ObjectRegistry<T> implements Iterable<T> {
+
+	/**
+	 * The Class Slot holds the index of an object in the array, -1 if the
+	 * object is not in the array (yet). The index is only written by
+	 * <code>applyPending()</code>, but read by every thread, the sequence
+	 * number is written before the index.
+	 */
+	private static final class Slot {
+
+		/** The index in the array. */
+		volatile int index = -1;
+
+		/** The sequence number, the order of the adds. */
+		long sequence = -1;
+	}
+
+	/**
+	 * The Class Command is a pending add or remove.
+	 */
+	private static final class Command {
+
+		/** The add-flag, false for a remove. */
+		final boolean add;
+
+		/** The object to add or remove. */
+		final Object object;
+
+		/** The slot of the object. */
+		final Slot slot;
+
+		/**
+		 * Instantiates a new command.
+		 *
+		 * @param add
+		 *            true for an add, false for a remove
+		 * @param object
+		 *            the object
+		 * @param slot
+		 *            the slot of the object
+		 */
+		Command(boolean add, Object object, Slot slot) {
+			this.add = add;
+			this.object = object;
+			this.slot = slot;
+		}
+	}
+
+	/** The objects, the first <code>size</code> entries are used. */
+	private Object[] objects;
+
+	/** The slots of the objects, same order as the objects. */
+	private Slot[] slots;
+
+	/** The number of objects in the array. */
+	private int size;
+
+	/** The number of gaps left by removed objects, closed by compact(). */
+	private int gaps;
+
+	/** The sequence number of the next object added. */
+	private long nextSequence;
+
+	/**
+	 * The slots of all added objects by identity, including the pending ones.
+	 * Guarded by itself.
+	 */
+	private final IdentityHashMap<Object, Slot> members;
+
+	/** The pending adds and removes. */
+	private final Queue<Command> pending;
+
+	/**
+	 * Instantiates a new object registry.
+	 */
+	ObjectRegistry() {
+		objects = new Object[16];
+		slots = new Slot[16];
+		members = new IdentityHashMap<Object, Slot>();
+		pending = new ConcurrentLinkedQueue<Command>();
+	}
+
+	/**
+	 * Adds an object with the next call to <code>applyPending()</code>. Does
+	 * nothing if the object was already added.
+	 *
+	 * @param object
+	 *            the object to add
+	 * @return true, if the object was not added before
+	 */
+	boolean add(T object) {
+		if (object == null)
+			return false;
+		Slot slot;
+		synchronized (members) {
+			if (members.containsKey(object))
+				return false;
+			slot = new Slot();
+			members.put(object, slot);
+		}
+		pending.add(new Command(true, object, slot));
+		return true;
+	}
+
+	/**
+	 * Removes an object with the next call to <code>applyPending()</code>.
+	 *
+	 * @param object
+	 *            the object to remove
+	 * @return true, if the object was added before
+	 */
+	boolean remove(Object object) {
+		if (object == null)
+			return false;
+		Slot slot;
+		synchronized (members) {
+			slot = members.remove(object);
+		}
+		if (slot == null)
+			return false;
+		pending.add(new Command(false, object, slot));
+		return true;
+	}
+
+	/**
+	 * Checks if an object was added, including pending adds.
+	 *
+	 * @param object
+	 *            the object
+	 * @return true, if added
+	 */
+	boolean contains(Object object) {
+		if (object == null)
+			return false;
+		synchronized (members) {
+			return members.containsKey(object);
+		}
+	}
+
+	/**
+	 * Applies all pending adds and removes. Must only be called by one thread
+	 * at a time, usually the update-thread at the start of a tick.
+	 *
+	 * @return true, if there was any add or remove
+	 */
+	boolean applyPending() {
+		boolean changed = false;
+		Command command;
+		while ((command = pending.poll()) != null) {
+			changed = true;
+			if (command.add) {
+				// skip adds that were removed again by another thread
+				if (slotOf(command.object) == command.slot)
+					append(command.object, command.slot);
+			} else {
+				delete(command.slot);
+			}
+		}
+		if (gaps > 0)
+			compact();
+		return changed;
+	}
+
+	/**
+	 * Gets the number of objects in the array.
+	 *
+	 * @return the size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the object at the index.
+	 *
+	 * @param index
+	 *            the index
+	 * @return the object
+	 */
+	@SuppressWarnings("unchecked")
+	T get(int index) {
+		return (T) objects[index];
+	}
+
+	/**
+	 * Gets the array of the objects, only the first <code>size()</code>
+	 * entries are used. The array is not copied!
+	 *
+	 * @return the array
+	 */
+	Object[] array() {
+		return objects;
+	}
+
+	/**
+	 * Gets the index of an object in the array.
+	 *
+	 * @param object
+	 *            the object
+	 * @return the index, or -1 if the object is not (yet) in the array
+	 */
+	int indexOf(Object object) {
+		Slot slot = slotOf(object);
+		return slot != null ? slot.index : -1;
+	}
+
+	/**
+	 * Gets the sequence number of the object at the index.
+	 *
+	 * @param index
+	 *            the index
+	 * @return the sequence number
+	 */
+	long sequence(int index) {
+		return slots[index].sequence;
+	}
+
+	/**
+	 * Gets the sequence number of an object.
+	 *
+	 * @param object
+	 *            the object
+	 * @return the sequence number, or -1 if the object is not (yet) in the
+	 *         array
+	 */
+	long sequenceOf(Object object) {
+		Slot slot = slotOf(object);
+		return slot != null && slot.index >= 0 ? slot.sequence : -1;
+	}
+
+	/**
+	 * Removes all objects at once.
+	 */
+	void clear() {
+		pending.clear();
+		synchronized (members) {
+			members.clear();
+		}
+		Arrays.fill(objects, 0, size, null);
+		Arrays.fill(slots, 0, size, null);
+		size = 0;
+		gaps = 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+
+			/** The next index. */
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			public T next() {
+				if (next >= size)
+					throw new NoSuchElementException();
+				return get(next++);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Gets the slot of an object.
+	 *
+	 * @param object
+	 *            the object
+	 * @return the slot, or null if the object was not added
+	 */
+	private Slot slotOf(Object object) {
+		if (object == null)
+			return null;
+		synchronized (members) {
+			return members.get(object);
+		}
+	}
+
+	/**
+	 * Appends an object to the end of the array.
+	 *
+	 * @param object
+	 *            the object
+	 * @param slot
+	 *            the slot of the object
+	 */
+	private void append(Object object, Slot slot) {
+		if (size == objects.length) {
+			objects = Arrays.copyOf(objects, size * 2);
+			slots = Arrays.copyOf(slots, size * 2);
+		}
+		slot.sequence = nextSequence++;
+		slot.index = size;
+		objects[size] = object;
+		slots[size] = slot;
+		size++;
+	}
+
+	/**
+	 * Deletes an object, its slot is left as a gap until compact() is called.
+	 *
+	 * @param slot
+	 *            the slot of the object
+	 */
+	private void delete(Slot slot) {
+		int index = slot.index;
+		if (index < 0)
+			return;
+		objects[index] = null;
+		slots[index] = null;
+		slot.index = -1;
+		gaps++;
+	}
+
+	/**
+	 * Closes all gaps by moving the following objects to the front, the
+	 * order of the objects is kept.
+	 */
+	private void compact() {
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			Slot slot = slots[i];
+			if (slot == null)
+				continue;
+			if (i != count) {
+				objects[count] = objects[i];
+				slots[count] = slot;
+				slot.index = count;
+			}
+			count++;
+		}
+		Arrays.fill(objects, count, size, null);
+		Arrays.fill(slots, count, size, null);
+		size = count;
+		gaps = 0;
+	}
+}
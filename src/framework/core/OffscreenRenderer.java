@@ -0,0 +1,31 @@
+package framework.core;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+/**
+ * The Class OffscreenRenderer draws with Java2D into a
+ * <code>BufferedImage</code>, it needs no display and no Swing component.
+ *
+ * @see Renderer
+ * @see Application#initializeHeadless(int, int)
+ */
+public class OffscreenRenderer extends Java2DRenderer {
+
+	/**
+	 * Instantiates a new offscreen renderer.
+	 */
+	public OffscreenRenderer() {
+		super(null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see framework.core.Java2DRenderer#createImage(int, int)
+	 */
+	@Override
+	protected Image createImage(int width, int height) {
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+	}
+}
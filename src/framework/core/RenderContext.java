@@ -0,0 +1,197 @@
+package framework.core;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Shape;
+
+import framework.objects.base.CanvasObject;
+
+/**
+ * The Class RenderContext is passed to every canvas object while the canvas is
+ * redrawn.
+ *
+ * <p>
+ * It holds the renderer of the canvas and some information about the frame. Drawing with the context needs no call to
+ * <code>Canvas.getCanvas()</code>, so the objects are drawn without any
+ * singleton lookups or Swing calls. The context is reused for every frame, so
+ * do not keep it after the drawing.
+ * </p>
+ *
+ * @see CanvasObject#draw(RenderContext)
+ */
+public final class RenderContext {
+
+	/** The renderer to draw with. */
+	private Renderer renderer;
+
+	/** The number of the frame. */
+	private long frame;
+
+	/** The width of the drawing area. */
+	private int width;
+
+	/** The height of the drawing area. */
+	private int height;
+
+	/** The interpolation between the previous and the current state. */
+	private float alpha;
+
+	/**
+	 * Instantiates a new render context.
+	 */
+	RenderContext() {
+	}
+
+	/**
+	 * Prepares the context for a new frame.
+	 *
+	 * @param renderer
+	 *            the renderer to draw with
+	 * @param frame
+	 *            the number of the frame
+	 * @param width
+	 *            the width of the drawing area
+	 * @param height
+	 *            the height of the drawing area
+	 * @param alpha
+	 *            the interpolation between the previous and the current
+	 *            state
+	 */
+	void begin(Renderer renderer, long frame, int width, int height,
+			float alpha) {
+		this.renderer = renderer;
+		this.frame = frame;
+		this.width = width;
+		this.height = height;
+		this.alpha = alpha;
+	}
+
+	/**
+	 * Gets the graphics to draw on, for everything the context does not offer.
+	 * Set the color and font you need, the state is not restored.
+	 *
+	 * @return the graphics, null if the renderer has none, e.g. in the
+	 *         pipelined mode
+	 * @see NullRenderer
+	 * @see Application#setPipelined(boolean)
+	 */
+	public Graphics2D getGraphics() {
+		return renderer.getGraphics();
+	}
+
+	/**
+	 * Gets the renderer to draw with.
+	 *
+	 * @return the renderer
+	 */
+	public Renderer getRenderer() {
+		return renderer;
+	}
+
+	/**
+	 * Gets the number of the frame, counted from the first redraw.
+	 *
+	 * @return the frame
+	 */
+	public long getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Gets the width of the drawing area.
+	 *
+	 * @return the width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Gets the height of the drawing area.
+	 *
+	 * @return the height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Gets the interpolation between the state of the objects before the last
+	 * update step (0) and the current state (1). The frame shows the time
+	 * between the two steps, so the objects move smoothly even if they are
+	 * updated less often than they are drawn. It is always 1 if the
+	 * interpolation is disabled.
+	 *
+	 * @return the alpha between 0 and 1
+	 * @see Application#setInterpolation(boolean)
+	 * @see CanvasObject#prepareUpdate()
+	 */
+	public float getAlpha() {
+		return alpha;
+	}
+
+	/**
+	 * Fills a shape with a color.
+	 *
+	 * @param shape
+	 *            the shape
+	 * @param color
+	 *            the color
+	 */
+	public void fill(Shape shape, Color color) {
+		renderer.fill(shape, color);
+	}
+
+	/**
+	 * Draws a line with a color.
+	 *
+	 * @param x1
+	 *            the x1
+	 * @param y1
+	 *            the y1
+	 * @param x2
+	 *            the x2
+	 * @param y2
+	 *            the y2
+	 * @param color
+	 *            the color
+	 */
+	public void drawLine(int x1, int y1, int x2, int y2, Color color) {
+		renderer.drawLine(x1, y1, x2, y2, color);
+	}
+
+	/**
+	 * Draws a text with a font and color.
+	 *
+	 * @param text
+	 *            the text
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @param font
+	 *            the font
+	 * @param color
+	 *            the color
+	 */
+	public void drawString(String text, int x, int y, Font font, Color color) {
+		renderer.drawString(text, x, y, font, color);
+	}
+
+	/**
+	 * Draws an image.
+	 *
+	 * @param image
+	 *            the image
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @return true, if the image was completely loaded
+	 */
+	public boolean drawImage(Image image, int x, int y) {
+		return renderer.drawImage(image, x, y);
+	}
+}
@@ -0,0 +1,120 @@
+package framework.core;
+
+/**
+ * The Class RenderThread draws the frames of the pipelined mode.
+ *
+ * <p>
+ * The update-thread records every redraw into a <code>DisplayList</code> and
+ * hands it over with <code>submit()</code>. While the render-thread replays
+ * that frame into the canvas image and shows it, the update-thread already
+ * updates the objects for the next one. Two lists are used in turn, so a
+ * frame is never recorded into the list that is drawn. If the render-thread
+ * falls behind, <code>submit()</code> waits for it.
+ * </p>
+ *
+ * @see Canvas#setPipelined(boolean)
+ * @see DisplayList
+ */
+final class RenderThread extends Thread {
+
+	/** The canvas to draw. */
+	private final Canvas canvas;
+
+	/** The frame handed over and not drawn yet. */
+	private DisplayList pending;
+
+	/** The rendering-flag, true while a frame is drawn. */
+	private boolean rendering;
+
+	/**
+	 * Instantiates a new render thread.
+	 *
+	 * @param canvas
+	 *            the canvas to draw
+	 */
+	RenderThread(Canvas canvas) {
+		super("RenderThread");
+		this.canvas = canvas;
+		setDaemon(true);
+	}
+
+	/**
+	 * Hands a recorded frame over, waits until the frame before was drawn.
+	 * If the calling thread is interrupted or the render-thread stopped, the
+	 * frame is dropped.
+	 *
+	 * @param list
+	 *            the recorded frame
+	 */
+	synchronized void submit(DisplayList list) {
+		try {
+			while ((pending != null || rendering) && isAlive())
+				wait(100);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		if (!isAlive())
+			return;
+		pending = list;
+		notifyAll();
+	}
+
+	/**
+	 * Waits until all frames handed over are drawn.
+	 */
+	synchronized void awaitIdle() {
+		try {
+			while ((pending != null || rendering) && isAlive())
+				wait(100);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Stops the thread after the frame that is drawn, a pending frame is
+	 * dropped.
+	 */
+	void shutdown() {
+		interrupt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Thread#run()
+	 */
+	@Override
+	public void run() {
+		while (!isInterrupted()) {
+			DisplayList list;
+			synchronized (this) {
+				try {
+					while (pending == null)
+						wait();
+				} catch (InterruptedException e) {
+					break;
+				}
+				list = pending;
+				pending = null;
+				rendering = true;
+			}
+			try {
+				canvas.render(list);
+			} catch (Exception e) {
+				System.err.println("Error while rendering frame "
+						+ list.getFrame() + ": " + e.toString());
+			} finally {
+				synchronized (this) {
+					rendering = false;
+					notifyAll();
+				}
+			}
+		}
+		synchronized (this) {
+			pending = null;
+			notifyAll();
+		}
+	}
+}
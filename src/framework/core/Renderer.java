@@ -0,0 +1,153 @@
+package framework.core;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Shape;
+
+/**
+ * The Interface Renderer draws the canvas image, all drawing of the canvas
+ * goes through it.
+ *
+ * <p>
+ * The canvas keeps the objects, the order and the dirty region, the renderer
+ * just draws what it is told to. There are three renderers:
+ * </p>
+ * <ul>
+ * <li><code>Java2DRenderer</code> draws with Java2D into an image of the
+ * Swing container, the default for windows and applets.</li>
+ * <li><code>OffscreenRenderer</code> draws into a <code>BufferedImage</code>,
+ * the default for headless canvases.</li>
+ * <li><code>NullRenderer</code> draws nothing at all, to measure the pure
+ * update cost or to run the logic on a server.</li>
+ * </ul>
+ * <p>
+ * Renderers are only called by one thread at a time.
+ * </p>
+ *
+ * @see Application#setRenderer(Renderer)
+ */
+public interface Renderer {
+
+	/**
+	 * Creates the image in a new size, called before the first drawing and
+	 * for every change of the size.
+	 *
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 */
+	void resize(int width, int height);
+
+	/**
+	 * Gets the image that is drawn into.
+	 *
+	 * @return the image, null if there is none
+	 */
+	Image getImage();
+
+	/**
+	 * Gets the graphics of the image, to draw what the renderer does not
+	 * offer.
+	 *
+	 * @return the graphics, null if there is none
+	 */
+	Graphics2D getGraphics();
+
+	/**
+	 * Fills an area with a color.
+	 *
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @param color
+	 *            the color
+	 */
+	void clear(int x, int y, int width, int height, Color color);
+
+	/**
+	 * Restricts all drawing to an area.
+	 *
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 */
+	void setClip(int x, int y, int width, int height);
+
+	/**
+	 * Removes the restriction of <code>setClip()</code>.
+	 */
+	void resetClip();
+
+	/**
+	 * Fills a shape with a color.
+	 *
+	 * @param shape
+	 *            the shape
+	 * @param color
+	 *            the color
+	 */
+	void fill(Shape shape, Color color);
+
+	/**
+	 * Draws a line with a color.
+	 *
+	 * @param x1
+	 *            the x1
+	 * @param y1
+	 *            the y1
+	 * @param x2
+	 *            the x2
+	 * @param y2
+	 *            the y2
+	 * @param color
+	 *            the color
+	 */
+	void drawLine(int x1, int y1, int x2, int y2, Color color);
+
+	/**
+	 * Draws a text with a font and color.
+	 *
+	 * @param text
+	 *            the text
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @param font
+	 *            the font
+	 * @param color
+	 *            the color
+	 */
+	void drawString(String text, int x, int y, Font font, Color color);
+
+	/**
+	 * Draws an image.
+	 *
+	 * @param image
+	 *            the image
+	 * @param x
+	 *            the x
+	 * @param y
+	 *            the y
+	 * @return true, if the image was completely loaded
+	 */
+	boolean drawImage(Image image, int x, int y);
+
+	/**
+	 * Releases the image, the renderer is not used anymore.
+	 */
+	void dispose();
+}
@@ -0,0 +1,181 @@
+package framework.core;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Class TaskExecutor runs the tasks submitted to the application, e.g. the
+ * loading of assets and data.
+ *
+ * <p>
+ * If the Java runtime has virtual threads, every task gets its own virtual
+ * thread, so thousands of tasks waiting for I/O at once are cheap. Otherwise
+ * the tasks share a bounded pool of daemon threads, the tasks beyond the pool
+ * size wait in a queue.
+ * </p>
+ *
+ * <p>
+ * The executor keeps all tasks that are not done yet, so the application can
+ * cancel them on termination.
+ * </p>
+ *
+ * @see Application#submit(Callable)
+ */
+final class TaskExecutor {
+
+	/** The name of the pool threads. */
+	public static final String TAG = "TaskThread";
+
+	/** The number of pool threads per core, if there are no virtual threads. */
+	private static final int THREADS_PER_CORE = 4;
+
+	/** The minimum number of pool threads, the tasks mostly wait for I/O. */
+	private static final int MIN_THREADS = 16;
+
+	/** The executor running the tasks. */
+	private final ExecutorService executor;
+
+	/** The tasks that are not done yet. */
+	private final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+
+	/** The virtual-flag, true if every task runs on a virtual thread. */
+	private final boolean virtual;
+
+	/**
+	 * Instantiates a new task executor.
+	 */
+	TaskExecutor() {
+		ExecutorService service = createVirtualExecutor();
+		virtual = service != null;
+		if (service == null)
+			service = createPool(Math.max(MIN_THREADS, Runtime.getRuntime()
+					.availableProcessors() * THREADS_PER_CORE));
+		executor = service;
+	}
+
+	/**
+	 * Creates an executor with a new virtual thread for every task. The
+	 * framework is compiled for runtimes without virtual threads, so the
+	 * factory is looked up when it is needed.
+	 *
+	 * @return the executor, null if there are no virtual threads
+	 */
+	private static ExecutorService createVirtualExecutor() {
+		try {
+			Method factory = java.util.concurrent.Executors.class.getMethod(
+					"newVirtualThreadPerTaskExecutor", new Class<?>[0]);
+			return (ExecutorService) factory.invoke(null, (Object[]) null);
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (Exception e) {
+			System.err.println("Virtual threads are not available: " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a bounded pool of daemon threads, idle threads are stopped
+	 * after a minute.
+	 *
+	 * @param size
+	 *            the maximum number of threads
+	 * @return the pool
+	 */
+	private static ExecutorService createPool(int size) {
+		ThreadFactory factory = new ThreadFactory() {
+
+			private final AtomicInteger number = new AtomicInteger();
+
+			/*
+			 * (non-Javadoc)
+			 *
+			 * @see
+			 * java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+			 */
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, TAG + " - "
+						+ number.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), factory);
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+
+	/**
+	 * Submits a task.
+	 *
+	 * @param <T>
+	 *            the type of the result
+	 * @param task
+	 *            the task
+	 * @return the future of the result, cancelled if the executor was shut
+	 *         down
+	 */
+	<T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<T>(task) {
+
+			/*
+			 * (non-Javadoc)
+			 *
+			 * @see java.util.concurrent.FutureTask#done()
+			 */
+			@Override
+			protected void done() {
+				pending.remove(this);
+			}
+		};
+		pending.add(future);
+		try {
+			executor.execute(future);
+		} catch (RejectedExecutionException e) {
+			future.cancel(false);
+		}
+		return future;
+	}
+
+	/**
+	 * Gets the number of tasks that are not done yet.
+	 *
+	 * @return the pending count
+	 */
+	int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Checks if the tasks run on virtual threads.
+	 *
+	 * @return true, if every task gets a virtual thread
+	 */
+	boolean isVirtual() {
+		return virtual;
+	}
+
+	/**
+	 * Cancels all tasks that are not done yet and stops the threads, running
+	 * tasks are interrupted.
+	 */
+	void shutdown() {
+		// cancel first, an interrupt by the executor would fail the tasks
+		for (Future<?> future : pending)
+			future.cancel(true);
+		pending.clear();
+		executor.shutdownNow();
+	}
+}
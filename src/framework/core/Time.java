@@ -53,6 +53,14 @@ package framework.core;
  * The <code>getActualTime()</code> returns the system-time in milliseconds
  * since when the system is running.
  * </p>
+ * <p>
+ * While the application is running, the time advances in fixed steps (see
+ * <code>UpdateThread</code>), so the time-gap is the same for every update.
+ * Use <code>getTimeGapNanos()</code> for the exact step, the milliseconds of
+ * <code>getTimeGap()</code> are rounded. The sum of all steps is the
+ * <code>getSimulatedTime()</code>, it falls behind the system-time whenever
+ * updates are dropped.
+ * </p>
  * 
  * @author Hans Ferchland
  * @see UpdateObject
@@ -69,11 +77,22 @@ public class Time {
 	/** The time gap. */
 	long timeGap = 0;
 
+	/** The time gap in nanoseconds. */
+	long timeGapNanos = 0;
+
+	/** The start time of the fixed-step time line. */
+	private long startTime = 0;
+
+	/** The time advanced through all steps in nanoseconds. */
+	private long stepTime = 0;
+
 	/**
 	 * Instantiates a new time-instance.
 	 */
 	public Time() {
 		actualTime = System.currentTimeMillis();
+		lastTime = actualTime;
+		startTime = actualTime;
 	}
 
 	/**
@@ -82,6 +101,22 @@ public class Time {
 	public void begin() {
 		actualTime = System.currentTimeMillis();
 		timeGap = actualTime - lastTime;
+		timeGapNanos = timeGap * 1000000L;
+		stepTime += timeGapNanos;
+	}
+
+	/**
+	 * Begins a fixed time-step, advancing the time by exactly the given step.
+	 * 
+	 * @param stepNanos
+	 *            the step in nanoseconds
+	 */
+	void beginStep(long stepNanos) {
+		stepTime += stepNanos;
+		actualTime = System.currentTimeMillis();
+		timeGapNanos = stepNanos;
+		// rounded once, so every step of the same length has the same gap
+		timeGap = (stepNanos + 500000L) / 1000000L;
 	}
 
 	/**
@@ -92,14 +127,26 @@ public class Time {
 	}
 
 	/**
-	 * Gets the actual time.
+	 * Gets the actual time, the system-time at the start of the update.
 	 * 
-	 * @return the actualTime
+	 * @return the actualTime in milliseconds
 	 */
 	public long getActualTime() {
 		return actualTime;
 	}
 
+	/**
+	 * Gets the simulated time, the time the objects were updated for. It
+	 * starts at the system-time when the time was created and advances by
+	 * every step, so it only follows the system-time while no updates are
+	 * dropped.
+	 * 
+	 * @return the simulated time in milliseconds
+	 */
+	public long getSimulatedTime() {
+		return startTime + stepTime / 1000000L;
+	}
+
 	/**
 	 * Gets the last time.
 	 * 
@@ -118,4 +165,13 @@ public class Time {
 		return timeGap;
 	}
 
+	/**
+	 * Gets the time gap in nanoseconds.
+	 * 
+	 * @return the timeGap in nanoseconds
+	 */
+	public long getTimeGapNanos() {
+		return timeGapNanos;
+	}
+
 }
@@ -35,12 +35,12 @@
  * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 package framework.core;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Queue;
 import java.util.TimerTask;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import framework.events.TimedControl;
+import framework.recording.TimerEvent;
 
 /**
  * The Class TimerThread handles all events that are timed, such as moving an
@@ -48,19 +48,38 @@ import framework.events.TimedControl;
  * <p>
  * The timer thread is a single huge timer which takes care of all events.
  * </p>
+ * <p>
+ * The timed controls are kept in a <code>TimingWheel</code> with a tick of
+ * one millisecond, so each run only touches the controls that are due. The
+ * <code>TimedEvent</code> passed to the controls is reused, don't keep a
+ * reference to it after <code>onTimedEvent</code> returned.
+ * </p>
  * 
  * @author Hans Ferchland
+ * @see TimingWheel
  */
 public class TimerThread extends TimerTask {
 
-	/** The timed listener. */
-	private HashMap<TimedControl, Long> timedListener;
+	/** The nanoseconds of one tick of the wheel. */
+	private static final long NANOS_PER_TICK = 1000000L;
+
+	/** The timing wheel holding all timed listeners. */
+	private TimingWheel timingWheel;
 	
 	/** The removed listener. */
-	private ArrayList<TimedControl> removeListener;
+	private Queue<TimedControl> removeListener;
 	
 	/** The added listener. */
-	private ArrayList<TimedControl> addListener;
+	private Queue<TimedControl> addListener;
+
+	/** The event passed to all listeners. */
+	private TimedEvent timedEvent;
+
+	/** The number of timed listeners, for monitoring. */
+	private volatile int timerCount;
+
+	/** The time the timer was created, the start of tick 0. */
+	private long startTime;
 
 	/** The application. */
 	private Application application = null;
@@ -73,9 +92,11 @@ public class TimerThread extends TimerTask {
 	 */
 	public TimerThread(Application application) {
 		this.application = application;
-		this.timedListener = new HashMap<TimedControl, Long>(20);
-		this.removeListener = new ArrayList<TimedControl>();
-		this.addListener = new ArrayList<TimedControl>();
+		this.timingWheel = new TimingWheel();
+		this.removeListener = new ConcurrentLinkedQueue<TimedControl>();
+		this.addListener = new ConcurrentLinkedQueue<TimedControl>();
+		this.timedEvent = new TimedEvent(this.application, 0);
+		this.startTime = System.nanoTime();
 	}
 
 	/*
@@ -85,12 +106,14 @@ public class TimerThread extends TimerTask {
 	 */
 	@Override
 	public void run() {
+		long start = System.nanoTime();
 		try {
-			invokeTimedEvent(new TimedEvent(application,
-					System.currentTimeMillis()));
+			timedEvent.mExecutionTime = System.currentTimeMillis();
+			invokeTimedEvent(timedEvent);
 		} catch (Exception e) {
 			System.out.println(e.toString());
 		}
+		application.getFrameStats().record(FrameStats.Phase.TIMER, start);
 
 	}
 
@@ -102,28 +125,26 @@ public class TimerThread extends TimerTask {
 	 */
 	private void invokeTimedEvent(TimedEvent t) {
 		
-		for (TimedControl tc : addListener) {
-			timedListener.put(tc, 0L);
+		TimedControl tc;
+		boolean changed = false;
+		while ((tc = addListener.poll()) != null) {
+			timingWheel.add(tc);
+			changed = true;
 		}
-		addListener.clear();
 		
-		// run through all events
-		for (Entry<TimedControl, Long> entry : timedListener.entrySet()) {
-			// get us the times called and the listener itself
-			Long time = entry.getValue();
-			TimedControl l = entry.getKey();
-			// if the times called modulo the event-period, the event wants to be called
-			if (time % l.getPeriod() == 0)
-				// so we call it
-				l.onTimedEvent(t);
-			// after that, raise the entry-value because we went one millisecond further
-			entry.setValue(time + 1);
-		}
+		// run through all ticks since the last run, calling the due events
+		TimerEvent event = TimerEvent.start();
+		int calls = timingWheel.advance((System.nanoTime() - startTime)
+				/ NANOS_PER_TICK, t);
+		if (event != null)
+			event.finish(calls, timingWheel.size());
 		
-		for (TimedControl tc : removeListener) {
-			timedListener.remove(tc);
+		while ((tc = removeListener.poll()) != null) {
+			timingWheel.remove(tc);
+			changed = true;
 		}
-		removeListener.clear();
+		if (changed)
+			timerCount = timingWheel.size();
 
 	}
 
@@ -136,10 +157,19 @@ public class TimerThread extends TimerTask {
 	public boolean cancel() {
 		removeListener.clear();
 		addListener.clear();
-		timedListener.clear();
+		timingWheel.clear();
 		return super.cancel();
 	}
 
+	/**
+	 * Gets the number of timed listeners after the last run.
+	 * 
+	 * @return the timer count
+	 */
+	int getTimerCount() {
+		return timerCount;
+	}
+
 	/**
 	 * Adds a specific timed listener.
 	 * 
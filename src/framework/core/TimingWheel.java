@@ -0,0 +1,226 @@
+package framework.core;
+
+import java.util.IdentityHashMap;
+
+import framework.events.TimedControl;
+
+/**
+ * The Class TimingWheel is a hashed timing wheel for the timed controls.
+ *
+ * <p>
+ * Every timed control is stored in the bucket of the tick (millisecond) it
+ * wants to be called the next time. Advancing the wheel by one tick only
+ * visits that single bucket, so the work per tick is proportional to the
+ * controls that are due, not to all controls. Controls with a period longer
+ * than the wheel stay in their bucket until their round has come.
+ * </p>
+ *
+ * <p>
+ * The wheel is not thread-safe, it is only used by the <code>TimerThread</code>.
+ * </p>
+ *
+ * @see TimerThread
+ */
+final class TimingWheel {
+
+	/** The number of buckets, must be a power of two. */
+	static final int WHEEL_SIZE = 1024;
+
+	/**
+	 * The Class Timeout is an entry of a bucket, a double linked list node.
+	 */
+	private static final class Timeout {
+
+		/** The timed control to call. */
+		final TimedControl control;
+
+		/** The tick the control is called the next time. */
+		long deadline;
+
+		/** The bucket the timeout is linked into. */
+		int bucket;
+
+		/** The previous timeout of the bucket. */
+		Timeout previous;
+
+		/** The next timeout of the bucket. */
+		Timeout next;
+
+		/**
+		 * Instantiates a new timeout.
+		 *
+		 * @param control
+		 *            the control
+		 */
+		Timeout(TimedControl control) {
+			this.control = control;
+		}
+	}
+
+	/** The buckets, each the head of a linked list. */
+	private final Timeout[] buckets;
+
+	/** The mask to find the bucket of a tick. */
+	private final int mask;
+
+	/** The timeouts of all registered controls. */
+	private final IdentityHashMap<TimedControl, Timeout> timeouts;
+
+	/** The last tick processed. */
+	private long tick = -1;
+
+	/**
+	 * Instantiates a new timing wheel.
+	 */
+	TimingWheel() {
+		buckets = new Timeout[WHEEL_SIZE];
+		mask = WHEEL_SIZE - 1;
+		timeouts = new IdentityHashMap<TimedControl, Timeout>();
+	}
+
+	/**
+	 * Adds a control, it is called on the next tick and every period after
+	 * that.
+	 *
+	 * @param control
+	 *            the control to add
+	 */
+	void add(TimedControl control) {
+		if (timeouts.containsKey(control))
+			return;
+		Timeout timeout = new Timeout(control);
+		timeouts.put(control, timeout);
+		link(timeout, tick + 1);
+	}
+
+	/**
+	 * Removes a control.
+	 *
+	 * @param control
+	 *            the control to remove
+	 */
+	void remove(TimedControl control) {
+		Timeout timeout = timeouts.remove(control);
+		if (timeout != null)
+			unlink(timeout);
+	}
+
+	/**
+	 * Removes all controls.
+	 */
+	void clear() {
+		for (int i = 0; i < buckets.length; i++)
+			buckets[i] = null;
+		timeouts.clear();
+	}
+
+	/**
+	 * Gets the number of registered controls.
+	 *
+	 * @return the size
+	 */
+	int size() {
+		return timeouts.size();
+	}
+
+	/**
+	 * Advances the wheel up to the given tick and calls all controls that are
+	 * due on the way.
+	 * <p>
+	 * If the wheel is behind more than one round, only the last round is
+	 * processed, so every late control is called once and continues with its
+	 * period from there.
+	 * </p>
+	 *
+	 * @param currentTick
+	 *            the tick to advance to
+	 * @param event
+	 *            the event passed to the controls
+	 * @return the number of controls called
+	 */
+	int advance(long currentTick, TimedEvent event) {
+		if (currentTick - tick > WHEEL_SIZE)
+			tick = currentTick - WHEEL_SIZE;
+
+		int calls = 0;
+		while (tick < currentTick) {
+			tick++;
+			if (timeouts.isEmpty())
+				continue;
+			calls += expire(tick, event);
+		}
+		return calls;
+	}
+
+	/**
+	 * Calls all controls of the bucket of the given tick that are due.
+	 *
+	 * @param now
+	 *            the tick
+	 * @param event
+	 *            the event passed to the controls
+	 * @return the number of controls called
+	 */
+	private int expire(long now, TimedEvent event) {
+		int calls = 0;
+		Timeout timeout = buckets[(int) (now & mask)];
+		while (timeout != null) {
+			Timeout next = timeout.next;
+			if (timeout.deadline <= now) {
+				TimedControl control = timeout.control;
+				long period = Math.max(1, control.getPeriod());
+				long deadline = timeout.deadline + period;
+				// skip calls that were missed
+				if (deadline <= now)
+					deadline = now + period;
+				unlink(timeout);
+				link(timeout, deadline);
+
+				calls++;
+				try {
+					control.onTimedEvent(event);
+				} catch (Exception e) {
+					System.out.println(e.toString());
+				}
+			}
+			timeout = next;
+		}
+		return calls;
+	}
+
+	/**
+	 * Links a timeout into the bucket of its deadline.
+	 *
+	 * @param timeout
+	 *            the timeout
+	 * @param deadline
+	 *            the deadline
+	 */
+	private void link(Timeout timeout, long deadline) {
+		int bucket = (int) (deadline & mask);
+		timeout.deadline = deadline;
+		timeout.bucket = bucket;
+		timeout.previous = null;
+		timeout.next = buckets[bucket];
+		if (timeout.next != null)
+			timeout.next.previous = timeout;
+		buckets[bucket] = timeout;
+	}
+
+	/**
+	 * Unlinks a timeout from its bucket.
+	 *
+	 * @param timeout
+	 *            the timeout
+	 */
+	private void unlink(Timeout timeout) {
+		if (timeout.previous != null)
+			timeout.previous.next = timeout.next;
+		else
+			buckets[timeout.bucket] = timeout.next;
+		if (timeout.next != null)
+			timeout.next.previous = timeout.previous;
+		timeout.previous = null;
+		timeout.next = null;
+	}
+}
@@ -38,6 +38,7 @@ package framework.core;
 import java.awt.event.MouseEvent;
 
 import framework.interfaces.Clickable;
+import framework.interfaces.Collider;
 import framework.interfaces.Collisionable;
 import framework.interfaces.Updateable;
 
@@ -57,6 +58,8 @@ public abstract class UpdateObject implements Updateable, Collisionable,
 	 */
 	public UpdateObject() {
 		Application.getInstance().addUpdateObject(this);
+		if (this instanceof Collider)
+			Application.getInstance().addCollisionObject((Collider) this);
 	}
 
 	/**
@@ -69,6 +72,9 @@ public abstract class UpdateObject implements Updateable, Collisionable,
 	public boolean dispose() {
 		try {
 			Application.getInstance().removeUpdateObject(this);
+			if (this instanceof Collider)
+				Application.getInstance().removeCollisionObject(
+						(Collider) this);
 		} catch (Exception e) {
 			e.printStackTrace();
 			return false;
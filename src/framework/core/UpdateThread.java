@@ -43,23 +43,54 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * The <code>UpdateThread</code> loops the applications instructions until the
  * user quits. This is done in a separate thread for optimal performance issues.
- * The desired gap between two ticks is 16 ms which means approximately 60 calls
- * the second.
+ * </p>
+ * 
  * <p>
+ * The loop runs with a fixed time-step: the time elapsed since the last pass
+ * (measured with <code>System.nanoTime()</code>) is accumulated and consumed in
+ * steps of exactly <code>1 / updateRate</code> seconds, so your objects are
+ * updated at a stable rate no matter how long a single pass takes. If the
+ * application falls behind, at most <code>maxUpdateSteps</code> updates are
+ * made in a row to catch up; everything beyond that is dropped, so a slow
+ * scene can never stall the loop completely. Rendering happens at its own
+ * rate, see <code>Application.setRenderRate(int)</code>.
+ * </p>
+ * 
+ * <p>
+ * If the application is free running, the loop does not wait for the clock:
+ * the updates are made back to back with the same time-step and the rendering
+ * follows the simulated time.
+ * </p>
  * 
  * <p>
  * To retrieve the actual time between calls use the time-state given in every
  * <code>update(Time timeState)</code> method. See the class <code>Time</code> for more.
  * </p>
  * 
+ * <p>
+ * The busy time of every frame, the updates since the last render and the
+ * render, is recorded as <code>FrameStats.Phase.FRAME</code>.
+ * </p>
+ * 
+ * <p>
+ * If the interpolation is enabled, the frames are rendered with the part of
+ * the next update step that has already elapsed, so the objects move
+ * smoothly even if the render rate is higher than the update rate. See
+ * <code>Application.setInterpolation(boolean)</code>.
+ * </p>
+ * 
  * @author Hans Ferchland
  * @version JIT Framework 1.0
  * @see Time
  * @see Application
+ * @see FrameStats
  */
 
 public class UpdateThread extends Thread {
 
+	/** The nanoseconds of one second. */
+	static final long NANOS_PER_SECOND = 1000000000L;
+
 	/** The application-reference for the updating. */
 	private Application application;
 
@@ -80,15 +111,118 @@ public class UpdateThread extends Thread {
 	 */
 	@Override
 	public void run() {
+		long previousTime = System.nanoTime();
+		long nextRender = previousTime;
+		long accumulator = 0;
+		long simulatedTime = 0;
+		long nextSimulatedRender = 0;
+		// the busy time of the loop since the last render
+		long frameWork = 0;
+		FrameStats frameStats = application.getFrameStats();
+
 		while (application.isRunning() && !isInterrupted()) {
+			long updateStep = NANOS_PER_SECOND / application.getUpdateRate();
+			int maxSteps = application.getMaxUpdateSteps();
+			int renderRate = application.getRenderRate();
+
+			if (application.isFreeRunning()) {
+				long passStart = System.nanoTime();
+				boolean rendered = false;
+				application.applicationUpdate(updateStep);
+				simulatedTime += updateStep;
+				if (renderRate <= 0) {
+					application.applicationRender();
+					rendered = true;
+				} else if (simulatedTime - nextSimulatedRender >= 0) {
+					application.applicationRender();
+					rendered = true;
+					nextSimulatedRender = simulatedTime + NANOS_PER_SECOND
+							/ renderRate;
+				}
+				// continue in real time without a jump
+				previousTime = System.nanoTime();
+				frameWork += previousTime - passStart;
+				if (rendered) {
+					frameStats.record(FrameStats.Phase.FRAME, previousTime
+							- frameWork, previousTime);
+					frameWork = 0;
+				}
+				nextRender = previousTime;
+				accumulator = 0;
+				continue;
+			}
+
+			long currentTime = System.nanoTime();
+			long elapsed = currentTime - previousTime;
+			previousTime = currentTime;
 
-			application.applicationTick();
-			try {
-				TimeUnit.MILLISECONDS.sleep(15);
-			} catch (InterruptedException e) {
-				interrupt();
+			// never try to catch up more than maxSteps updates at once,
+			// otherwise a slow frame makes the next one even slower
+			if (elapsed > updateStep * maxSteps) {
+				frameStats.countDroppedUpdates((elapsed - updateStep
+						* maxSteps)
+						/ updateStep);
+				elapsed = updateStep * maxSteps;
+			}
+			accumulator += elapsed;
+
+			int steps = 0;
+			while (accumulator >= updateStep && steps < maxSteps) {
+				application.applicationUpdate(updateStep);
+				accumulator -= updateStep;
+				steps++;
+			}
+			// still behind: drop the remaining backlog
+			if (accumulator >= updateStep) {
+				frameStats.countDroppedUpdates(accumulator / updateStep);
+				accumulator %= updateStep;
 			}
 
+			boolean rendered = false;
+			if (renderRate <= 0) {
+				// render coupled to the updates
+				if (steps > 0) {
+					application.applicationRender();
+					rendered = true;
+				}
+			} else if (currentTime - nextRender >= 0) {
+				long renderStep = NANOS_PER_SECOND / renderRate;
+				if (application.isInterpolation())
+					application.applicationRender((float) accumulator
+							/ updateStep);
+				else
+					application.applicationRender();
+				rendered = true;
+				nextRender += renderStep;
+				// do not render in bursts after a stall
+				if (currentTime - nextRender >= 0) {
+					frameStats.countDroppedFrames((currentTime - nextRender)
+							/ renderStep + 1);
+					nextRender = currentTime + renderStep;
+				}
+			}
+
+			long passEnd = System.nanoTime();
+			frameWork += passEnd - currentTime;
+			if (rendered) {
+				frameStats.record(FrameStats.Phase.FRAME, passEnd - frameWork,
+						passEnd);
+				frameWork = 0;
+			}
+
+			// sleep until the next update or render is due
+			long wakeUpTime = currentTime + (updateStep - accumulator);
+			if (renderRate > 0 && nextRender - wakeUpTime < 0)
+				wakeUpTime = nextRender;
+
+			long waitTime = wakeUpTime - passEnd;
+			if (waitTime > 0) {
+				try {
+					TimeUnit.NANOSECONDS.sleep(waitTime);
+				} catch (InterruptedException e) {
+					interrupt();
+				}
+			}
 		}
 	}
 
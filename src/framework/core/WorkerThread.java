@@ -35,10 +35,16 @@
  * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 package framework.core;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
 
-import framework.core.Application.LoaderFunction;
+import framework.recording.WorkerEvent;
 
 /**
  * The Class WorkerThread can handle much operations and work.
@@ -47,6 +53,18 @@ import framework.core.Application.LoaderFunction;
  * A worker thread can execute any given function without parameters that
  * returns void! This thread is a daemon thread.
  * </p>
+ * 
+ * <p>
+ * A function given by its name is looked up once and bound to the carrier as
+ * a <code>MethodHandle</code>, a <code>Runnable</code> is called directly.
+ * </p>
+ * 
+ * <p>
+ * Every worker is a thread of its own, for many tasks at once use
+ * <code>Application.submit(Callable)</code> instead.
+ * </p>
+ * 
+ * @see Application#submit(java.util.concurrent.Callable)
  */
 public class WorkerThread extends Thread {
 
@@ -56,6 +74,12 @@ public class WorkerThread extends Thread {
 	/** The m receiver. */
 	protected Object carrierObject;
 
+	/** The function to execute, bound to the carrier. */
+	private Callable<?> function;
+
+	/** The name of the function, for the messages and events. */
+	private String functionName;
+
 	/** The TAG. */
 	public static final String TAG = "WorkerThread";
 
@@ -87,53 +111,41 @@ public class WorkerThread extends Thread {
 	public WorkerThread(Object carryer, String functionName) {
 
 		carrierObject = carryer;
+		this.functionName = functionName;
 		setName(TAG + " - " + functionName + "()");
 		setDaemon(true);
 
-		Method method = null;
-		try {
-			method = carryer.getClass().getDeclaredMethod(functionName,
-					new Class[0]);
-		} catch (NullPointerException e) {
-			e.printStackTrace();
-			System.err.println("No function name given!");
+		loaderFunction = findFunction(carryer, functionName);
+		if (loaderFunction == null)
 			return;
-		} catch (NoSuchMethodException e) {
-			e.printStackTrace();
-			System.err.println("No matching method found!");
-			return;
-		} catch (SecurityException e) {
-			e.printStackTrace();
-			System.err
-					.println("SecurityException thrown! See 'getDeclaredMethod()' in 'Class' for more.");
-			return;
-		} finally {
-			loaderFunction = method;
-		}
+		function = bind(carryer, loaderFunction);
 
 		Application.getInstance().addWorkerThread(this);
 	}
 
 	/**
-	 * Instantiates a new worker thread form a <code>LoaderFunction</code>. <br>
-	 * <b><code>LoaderFunction</code> is only for package usage!</b></br>
-	 * 
+	 * Instantiates a new worker thread executing a runnable, e.g. a lambda.
 	 * <p>
 	 * A worker thread is automatically registered by the
 	 * <code>Application</code> ! Also if the thread is interrupted, the
 	 * <code>Application</code> is notified.
 	 * </p>
 	 * 
-	 * @param loader
-	 *            the loader function to load the method-parameters.
+	 * @param runnable
+	 *            the runnable to execute
 	 */
-	WorkerThread(LoaderFunction loader) {
-		carrierObject = loader.carrier;
-		loaderFunction = loader.method;
-		setName("[LoaderFunction] " + TAG + " - " + loaderFunction.getName()
-				+ "()");
+	public WorkerThread(Runnable runnable) {
+		carrierObject = runnable;
+		functionName = "run";
+		setName(TAG + " - " + functionName + "()");
 		setDaemon(true);
 
+		if (runnable == null) {
+			System.err.println("No runnable given!");
+			return;
+		}
+		function = Executors.callable(runnable);
+
 		Application.getInstance().addWorkerThread(this);
 	}
 
@@ -144,39 +156,17 @@ public class WorkerThread extends Thread {
 	 */
 	@Override
 	public void run() {
-		System.out.println("WorkerThread: " + getName() + " from object: "
-				+ carrierObject.toString() + " is executing!");
-
-		if (loaderFunction == null || carrierObject == null) {
+		if (function == null || carrierObject == null) {
 			System.err
 					.println("No loader-function and/or carryer object found!");
 			return;
 		}
-		try {
-			loaderFunction.invoke(carrierObject, (Object[]) null);
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-			System.err.println("No arguments are allowed in the function!");
-			return;
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
-			System.err.println("Method inaccessible!");
-			return;
-		} catch (InvocationTargetException e) {
-			System.err.println("The called method throws an exception!");
-			e.printStackTrace();
-			return;
-		} catch (NullPointerException e) {
-			e.printStackTrace();
-			System.err
-					.println("The specified object is null and the method is an instance method!");
-			return;
-		} catch (ExceptionInInitializerError e) {
-			e.printStackTrace();
-			System.err
-					.println("The initialization provoked by this method failed!");
+
+		System.out.println("WorkerThread: " + getName() + " from object: "
+				+ carrierObject.toString() + " is executing!");
+
+		if (!invoke(function, carrierObject.getClass(), functionName))
 			return;
-		}
 
 		super.run();
 
@@ -192,6 +182,116 @@ public class WorkerThread extends Thread {
 				+ carrierObject.toString() + " finished execution!");
 	}
 
+	/**
+	 * Looks up a function without parameters declared by the class of the
+	 * carrier, the errors are printed.
+	 * 
+	 * @param carrier
+	 *            the instance of the class carrying the function
+	 * @param functionName
+	 *            the name of the function
+	 * @return the function, null if there is none
+	 */
+	static Method findFunction(Object carrier, String functionName) {
+		try {
+			return carrier.getClass().getDeclaredMethod(functionName,
+					new Class[0]);
+		} catch (NullPointerException e) {
+			e.printStackTrace();
+			System.err.println("No function name given!");
+		} catch (NoSuchMethodException e) {
+			e.printStackTrace();
+			System.err.println("No matching method found!");
+		} catch (SecurityException e) {
+			e.printStackTrace();
+			System.err
+					.println("SecurityException thrown! See 'getDeclaredMethod()' in 'Class' for more.");
+		}
+		return null;
+	}
+
+	/**
+	 * Binds a function to its carrier once, so it is called through a
+	 * <code>MethodHandle</code> and not by reflection on every call. The errors
+	 * are printed.
+	 * 
+	 * @param carrier
+	 *            the instance of the class carrying the function
+	 * @param method
+	 *            the function
+	 * @return the bound function, null if it is inaccessible
+	 */
+	static Callable<Object> bind(Object carrier, Method method) {
+		MethodHandle handle;
+		try {
+			handle = MethodHandles.lookup().unreflect(method);
+		} catch (IllegalAccessException e) {
+			e.printStackTrace();
+			System.err.println("Method inaccessible!");
+			return null;
+		}
+		// a static function has no carrier to bind
+		if (!Modifier.isStatic(method.getModifiers()))
+			handle = handle.bindTo(carrier);
+
+		final MethodHandle bound = handle.asType(MethodType
+				.methodType(void.class));
+		return new Callable<Object>() {
+
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.concurrent.Callable#call()
+			 */
+			@Override
+			public Object call() throws Exception {
+				try {
+					bound.invokeExact();
+				} catch (Exception e) {
+					throw e;
+				} catch (Error e) {
+					throw e;
+				} catch (Throwable t) {
+					throw new UndeclaredThrowableException(t);
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Invokes a bound function, the errors are printed. Used by the worker
+	 * threads and the tasks running the loader functions.
+	 * 
+	 * @param function
+	 *            the function to invoke
+	 * @param carrierType
+	 *            the class carrying the function, for the event
+	 * @param functionName
+	 *            the name of the function, for the event
+	 * @return true, if the function returned without an error
+	 */
+	static boolean invoke(Callable<?> function, Class<?> carrierType,
+			String functionName) {
+		WorkerEvent event = WorkerEvent.start();
+		boolean success = false;
+		try {
+			function.call();
+			success = true;
+		} catch (Exception e) {
+			System.err.println("The called method throws an exception!");
+			e.printStackTrace();
+		} catch (ExceptionInInitializerError e) {
+			e.printStackTrace();
+			System.err
+					.println("The initialization provoked by this method failed!");
+		} finally {
+			if (event != null)
+				event.finish(carrierType, functionName, success);
+		}
+		return success;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,25 @@
+package framework.events;
+
+import java.util.EventListener;
+
+/**
+ * The listener interface for receiving the end of the loading.
+ * <p>
+ * The class that is interested in the end of the loading implements this
+ * interface, and the object created with that class is registered using the
+ * applications
+ * <code>Application.getInstance().addLoadingControl(this)</code> method. When
+ * all loading functions are finished, that object's <code>onLoaded</code>
+ * method is invoked on the update-thread, before the next update.
+ * </p>
+ * 
+ * @see EventListener
+ */
+public interface LoadingControl extends EventListener {
+
+	/**
+	 * On loaded, executed on the update-thread when all loading functions
+	 * are finished. Check the state of the loaders for the failed ones.
+	 */
+	public void onLoaded();
+}
@@ -0,0 +1,54 @@
+package framework.interfaces;
+
+import java.awt.Rectangle;
+
+import framework.core.Application;
+
+/**
+ * The Interface Collider is a collisionable that is checked by the collision
+ * world of the application.
+ * <p>
+ * All colliders are sorted by their bounds once per update, so only colliders
+ * with overlapping bounds are checked with <code>checkCollision()</code>,
+ * instead of every collider against every other. If the check is true, both
+ * colliders are notified by <code>onCollision()</code>.
+ * </p>
+ * <p>
+ * All <code>UpdateObject</code>s that implement this interface are added to
+ * the collision world automatically. <code>CanvasObject</code>s already
+ * provide their bounds, so they only have to implement
+ * <code>checkCollision()</code> and <code>onCollision()</code>.
+ * </p>
+ * 
+ * @see Application#addCollisionObject(Collider)
+ */
+public interface Collider extends Collisionable {
+
+	/**
+	 * Gets the bounds of the collider, called once per update. Colliders with
+	 * empty bounds never collide.
+	 * 
+	 * @param bounds
+	 *            the rectangle to store the bounds in
+	 */
+	void getBounds(Rectangle bounds);
+
+	/**
+	 * Checks the collision with a collider whose bounds overlap, return true if
+	 * the bounds are enough.
+	 * 
+	 * @param collisionable
+	 *            the other collider
+	 * @return true, if both collide
+	 */
+	@Override
+	boolean checkCollision(Collisionable collisionable);
+
+	/**
+	 * Called on the update-thread if this collider collides with another one.
+	 * 
+	 * @param other
+	 *            the other collider
+	 */
+	void onCollision(Collider other);
+}
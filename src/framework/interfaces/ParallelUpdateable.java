@@ -0,0 +1,39 @@
+package framework.interfaces;
+
+import framework.core.Application;
+import framework.core.Time;
+
+/**
+ * The Interface ParallelUpdateable marks update-objects that can be updated in
+ * parallel to other objects.
+ * <p>
+ * The objects are updated in the order they were added. If the parallel update
+ * is enabled with <code>Application.setParallelUpdate(true)</code>, parallel
+ * updateables that follow each other in that order are updated on several
+ * cores at once, so add them together to get the most out of it. All parallel
+ * updates are finished before the next object in the order and before the
+ * canvas is drawn. Without the parallel update, implementing this interface
+ * changes nothing.
+ * </p>
+ * <p>
+ * Only implement this interface if your <code>update(Time time)</code> method
+ * just changes the object itself! It must not change other objects, shared
+ * lists or the canvas, because these would be accessed by several threads at
+ * the same time.
+ * </p>
+ *
+ * @see Application#setParallelUpdate(boolean)
+ */
+public interface ParallelUpdateable extends Updateable {
+
+	/**
+	 * The update-method is called by the application, possibly on another
+	 * thread and at the same time as other parallel updateables.
+	 *
+	 * @param time
+	 *            the time
+	 * @see Application
+	 */
+	@Override
+	void update(Time time);
+}
@@ -69,6 +69,19 @@ public class Picture extends AbstractPicture {
 		super(xPos, yPos, imagePath);
 	}
 
+	/**
+	 * Instantiates a new picture that loads its image in background.
+	 *
+	 * @param xPos the x pos
+	 * @param yPos the y pos
+	 * @param imagePath the image path
+	 * @param placeholder the image shown while loading, may be null
+	 * @see AbstractPicture#getLoading()
+	 */
+	public Picture(int xPos, int yPos, String imagePath, Image placeholder) {
+		super(xPos, yPos, imagePath, placeholder);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
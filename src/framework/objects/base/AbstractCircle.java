@@ -37,12 +37,14 @@ package framework.objects.base;
 
 import java.awt.Color;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.awt.geom.*;
 
 import framework.core.Application;
 import framework.core.Canvas;
+import framework.core.RenderContext;
 import framework.core.Time;
 
 import framework.events.MouseControl;
@@ -95,6 +97,9 @@ public abstract class AbstractCircle extends CanvasObject implements
 	/** The diameter of the circle. */
 	protected int diameter;
 
+	/** The shape drawn on the canvas, reused for every drawing. */
+	private final Ellipse2D.Double geometry = new Ellipse2D.Double();
+
 	/**
 	 * Create a new circle at default position with default color.
 	 */
@@ -154,11 +159,24 @@ public abstract class AbstractCircle extends CanvasObject implements
 	public void draw() {
 		if (isVisible()) {
 			Canvas canvas = Canvas.getCanvas();
-			canvas.draw(this, color, new Ellipse2D.Double(xPosition, yPosition,
-					diameter, diameter));
+			geometry.setFrame(xPosition, yPosition, diameter, diameter);
+			canvas.draw(this, color, geometry);
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#draw(framework.core.RenderContext)
+	 */
+	@Override
+	public void draw(RenderContext context) {
+		geometry.setFrame(getDrawX(context), getDrawY(context), diameter,
+				diameter);
+		context.fill(geometry, color);
+	}
+
 	/**
 	 * Erase the circle on screen.
 	 */
@@ -188,15 +206,31 @@ public abstract class AbstractCircle extends CanvasObject implements
 	 */
 	@Override
 	protected boolean containsPoint(Point point) {
-		Point center = new Point((int) (xPosition + diameter / 2),
-				(int) (yPosition + diameter / 2));
-
-		double distance = point.distance(center);
-		
-		if (distance <= diameter/2)
-			return true;
-		else
-			return false;
+		return contains(point.x, point.y);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.objects.base.CanvasObject#contains(int, int)
+	 */
+	@Override
+	public boolean contains(int x, int y) {
+		int radius = diameter / 2;
+		long dx = x - (xPosition + radius);
+		long dy = y - (yPosition + radius);
+		return dx * dx + dy * dy <= (long) radius * radius;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#getBounds(java.awt.Rectangle)
+	 */
+	@Override
+	public void getBounds(Rectangle bounds) {
+		bounds.setBounds(xPosition, yPosition, diameter, diameter);
 	}
 
 	/*
@@ -236,7 +270,7 @@ public abstract class AbstractCircle extends CanvasObject implements
 	 */
 	@Override
 	public void mousePressed(MouseEvent event) {
-		if (containsPoint(new Point(event.getX(), event.getY()))) {
+		if (contains(event.getX(), event.getY())) {
 			clickStarted = true;
 			onClick(event);
 		}
@@ -249,7 +283,7 @@ public abstract class AbstractCircle extends CanvasObject implements
 	 */
 	@Override
 	public void mouseReleased(MouseEvent event) {
-		if (containsPoint(new Point(event.getX(), event.getY()))
+		if (contains(event.getX(), event.getY())
 				&& clickStarted) {
 			onRelease(event);
 		}
@@ -37,9 +37,11 @@ package framework.objects.base;
 
 import java.awt.Color;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 
 import framework.core.Canvas;
+import framework.core.RenderContext;
 import framework.core.Time;
 
 
@@ -113,6 +115,26 @@ public abstract class AbstractLine extends CanvasObject {
         }
 	}
 
+	/* (non-Javadoc)
+	 * @see framework.objects.base.CanvasObject#draw(framework.core.RenderContext)
+	 */
+	@Override
+	public void draw(RenderContext context) {
+		context.drawLine(start.x, start.y, end.x, end.y, color);
+	}
+
+	/* (non-Javadoc)
+	 * @see framework.objects.base.CanvasObject#getBounds(java.awt.Rectangle)
+	 */
+	@Override
+	public void getBounds(Rectangle bounds) {
+		int x = Math.min(start.x, end.x);
+		int y = Math.min(start.y, end.y);
+		// a line covers the pixels of both end-points
+		bounds.setBounds(x, y, Math.abs(end.x - start.x) + 1,
+				Math.abs(end.y - start.y) + 1);
+	}
+
     /**
      * Erase the line from screen.
      */
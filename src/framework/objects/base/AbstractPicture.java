@@ -38,19 +38,25 @@ package framework.objects.base;
 import java.awt.Color;
 import java.awt.Image;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 import javax.imageio.ImageIO;
 import framework.core.Application;
 import framework.core.Canvas;
+import framework.core.RenderContext;
 import framework.core.JITApplet;
 import framework.core.Time;
 
 import framework.events.MouseControl;
+import framework.recording.AssetLoadEvent;
 
 /**
  * An abstract picture class, that can be used for drawing custom images.
@@ -61,17 +67,57 @@ import framework.events.MouseControl;
  * onClick(MouseEvent event)</code> and
  * <code>public abstract void onRelease(MouseEvent event)</code>.
  * </p>
+ * <p>
+ * A picture can load its image in the background, see
+ * <code>AbstractPicture(int, int, String, Image)</code>. The image, the size
+ * and the bounds for the mouse are always changed together.
+ * </p>
  * @author Hans Ferchland
  */
 public abstract class AbstractPicture extends CanvasObject implements
 		MouseControl {
 
-	/** The image to display. */
-	private Image image;
+	/** The image to display with its size, replaced as a whole. */
+	private volatile Sprite sprite = Sprite.EMPTY;
 
-	private int width = 0;
+	/** The loading of the image, done if it was not loaded in background. */
+	private final CompletableFuture<Image> loading;
 
-	private int height = 0;
+	/** The disposed-flag, a disposed picture keeps no image. Guarded by this. */
+	private boolean disposed;
+
+	/**
+	 * The Class Sprite is an image with its size, so a new image and its size
+	 * are seen at once by the drawing and the mouse.
+	 */
+	private static final class Sprite {
+
+		/** The sprite without an image. */
+		static final Sprite EMPTY = new Sprite(null);
+
+		/** The image, may be null. */
+		final Image image;
+
+		/** The width. */
+		final int width;
+
+		/** The height. */
+		final int height;
+
+		/**
+		 * Instantiates a new sprite. The size of an image that is not loaded
+		 * completely, e.g. by the <code>Toolkit</code>, is unknown and taken
+		 * as 0.
+		 * 
+		 * @param image
+		 *            the image, may be null
+		 */
+		Sprite(Image image) {
+			this.image = image;
+			width = image != null ? Math.max(0, image.getWidth(null)) : 0;
+			height = image != null ? Math.max(0, image.getHeight(null)) : 0;
+		}
+	}
 
 	/**
 	 * Instantiates a new picture.
@@ -81,11 +127,8 @@ public abstract class AbstractPicture extends CanvasObject implements
 	 */
 	public AbstractPicture(Image image) {
 		super(0, 0);
-		this.image = image;
-		if (image != null) {
-			width = image.getWidth(null);
-			height = image.getHeight(null);
-		}
+		sprite = new Sprite(image);
+		loading = CompletableFuture.completedFuture(image);
 		Canvas.getCanvas().draw(this, Color.white, null);
 		addMouseControl();
 	}
@@ -107,8 +150,89 @@ public abstract class AbstractPicture extends CanvasObject implements
 	 */
 	public AbstractPicture(int xPos, int yPos, String imagePath) {
 		super(xPos, yPos);
-		this.image = null;
+		Image image = readImage(imagePath);
+		sprite = new Sprite(image);
+		loading = CompletableFuture.completedFuture(image);
+
+		Canvas.getCanvas().draw(this, Color.white, null);
+		addMouseControl();
+	}
 
+	/**
+	 * Instantiates a new picture that loads its image in background.
+	 * <p>
+	 * The image is read and decoded by a task of the application, so the
+	 * creating thread, e.g. the update-thread, does not wait for it. Until it
+	 * is loaded the placeholder is shown, the size and the bounds for the
+	 * mouse are the ones of the placeholder. The loaded image replaces the
+	 * placeholder with its size at once. Use <code>getLoading()</code> to wait
+	 * for the image or to be called back when it is loaded.
+	 * </p>
+	 * <p>
+	 * The image may be loaded before the constructor of a subclass has
+	 * finished, so it is set without a call to <code>setImage()</code> or
+	 * <code>getBounds()</code>.
+	 * </p>
+	 * 
+	 * @param xPos
+	 *            the initial x position
+	 * @param yPos
+	 *            the initial y position
+	 * @param imagePath
+	 *            the image path
+	 * @param placeholder
+	 *            the image shown while loading, null to show nothing. It must
+	 *            be loaded completely, e.g. a <code>BufferedImage</code>,
+	 *            otherwise its size is taken as 0
+	 * @see Application#submit(Callable)
+	 */
+	public AbstractPicture(int xPos, int yPos, final String imagePath,
+			Image placeholder) {
+		super(xPos, yPos);
+		sprite = new Sprite(placeholder);
+		loading = new CompletableFuture<Image>();
+
+		Canvas.getCanvas().draw(this, Color.white, null);
+		addMouseControl();
+
+		Callable<Image> load = new Callable<Image>() {
+
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.concurrent.Callable#call()
+			 */
+			@Override
+			public Image call() {
+				Image image = readImage(imagePath);
+				// the picture may not be constructed completely yet, so
+				// nothing that a subclass can override is called here
+				if (image != null && !replaceSprite(image)) {
+					// disposed meanwhile
+					image.flush();
+					image = null;
+				}
+				loading.complete(image);
+				return image;
+			}
+		};
+		Future<Image> task = Application.getInstance().submit(load);
+		// not submitted, e.g. because the application is terminating
+		if (task == null || task.isCancelled())
+			loading.complete(null);
+	}
+
+	/**
+	 * Reads and decodes an image, from the code base of an applet or from
+	 * the base directory. The errors are printed.
+	 * 
+	 * @param imagePath
+	 *            the image path
+	 * @return the image, null if it could not be loaded
+	 */
+	private static Image readImage(String imagePath) {
+		Image image = null;
+		AssetLoadEvent event = AssetLoadEvent.start();
 		try {
 			if (Application.getInstance().isApplet()) {
 				JITApplet applet = Application.getInstance().getApplet();
@@ -126,13 +250,74 @@ public abstract class AbstractPicture extends CanvasObject implements
 			System.err.println("Error during image-loading!");
 		}
 
-		if (image != null) {
-			width = image.getWidth(null);
-			height = image.getHeight(null);
+		if (event != null)
+			event.finish(imagePath, image != null ? image.getWidth(null) : -1,
+					image != null ? image.getHeight(null) : -1, image != null);
+		return image;
+	}
+
+	/**
+	 * Replaces the image, its size and the bounds for the mouse at once. Can
+	 * be called from every thread, has no effect once the picture is disposed.
+	 * 
+	 * @param image
+	 *            the new image, null to show nothing
+	 */
+	public void setImage(Image image) {
+		replaceSprite(image);
+	}
+
+	/**
+	 * Replaces the sprite and invalidates the old and the new area, unless the
+	 * picture is disposed. The dispose and the replacement exclude each other.
+	 * 
+	 * @param image
+	 *            the new image, null to show nothing
+	 * @return true, if the image was set, false if the picture is disposed
+	 */
+	private boolean replaceSprite(Image image) {
+		Sprite next = new Sprite(image);
+		Sprite previous;
+		synchronized (this) {
+			if (disposed)
+				return false;
+			previous = sprite;
+			sprite = next;
 		}
+		// the old and the new area, the size may be the same
+		Canvas canvas = Canvas.getCanvas();
+		canvas.invalidate(new Rectangle(xPosition, yPosition, previous.width,
+				previous.height));
+		canvas.invalidate(new Rectangle(xPosition, yPosition, next.width,
+				next.height));
+		return true;
+	}
 
-		Canvas.getCanvas().draw(this, Color.white, null);
-		addMouseControl();
+	/**
+	 * Gets the image.
+	 * 
+	 * @return the image, null if there is none
+	 */
+	public Image getImage() {
+		return sprite.image;
+	}
+
+	/**
+	 * Gets the loading of the image. It is completed with the loaded image,
+	 * or null if the image could not be loaded, after the image was set. It
+	 * is completed with null at once if the picture is disposed or the task
+	 * could not be submitted, e.g. while the application terminates. A
+	 * picture that did not load in background is completed already.
+	 * <p>
+	 * Wait for the image with <code>getLoading().get()</code> or be called
+	 * back with <code>getLoading().thenAccept(...)</code>. The callback may run
+	 * on the loading thread, not on the update-thread.
+	 * </p>
+	 * 
+	 * @return the loading
+	 */
+	public CompletableFuture<Image> getLoading() {
+		return loading;
 	}
 	
 	/**
@@ -141,7 +326,7 @@ public abstract class AbstractPicture extends CanvasObject implements
 	 * @return the height
 	 */
 	public int getHeight() {
-		return height;
+		return sprite.height;
 	}
 	
 	/**
@@ -150,7 +335,7 @@ public abstract class AbstractPicture extends CanvasObject implements
 	 * @return the width
 	 */
 	public int getWidth() {
-		return width;
+		return sprite.width;
 	}
 
 	/*
@@ -160,12 +345,26 @@ public abstract class AbstractPicture extends CanvasObject implements
 	 */
 	@Override
 	public void draw() {
+		Image image = sprite.image;
 		if (isVisible() && image != null) {
 			Canvas canvas = Canvas.getCanvas();
 			canvas.drawImage(image, xPosition, yPosition);
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#draw(framework.core.RenderContext)
+	 */
+	@Override
+	public void draw(RenderContext context) {
+		Image image = sprite.image;
+		if (image != null)
+			context.drawImage(image, getDrawX(context), getDrawY(context));
+	}
+
 	/**
 	 * Erase the picture from screen.
 	 */
@@ -183,8 +382,16 @@ public abstract class AbstractPicture extends CanvasObject implements
 	@Override
 	public boolean dispose() {
 		Application.getInstance().removeMouseControl(this);
-		image.flush();
-		image = null;
+		Image image;
+		synchronized (this) {
+			disposed = true;
+			image = sprite.image;
+			sprite = Sprite.EMPTY;
+		}
+		// a picture loading in background stays without image
+		loading.complete(null);
+		if (image != null)
+			image.flush();
 		return super.dispose();
 	}
 
@@ -195,20 +402,40 @@ public abstract class AbstractPicture extends CanvasObject implements
 	 */
 	@Override
 	protected boolean containsPoint(Point point) {
-		if (image == null)
+		return contains(point.x, point.y);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.objects.base.CanvasObject#contains(int, int)
+	 */
+	@Override
+	public boolean contains(int x, int y) {
+		Sprite current = sprite;
+		if (current.image == null)
 			return false;
-		Point topLeft = new Point(xPosition, yPosition);
-		Point bottomRight = new Point(xPosition + width,
-				yPosition + height);
-		if (point.x < topLeft.x || point.x > bottomRight.x) {
+		if (x < xPosition || x > xPosition + current.width) {
 			return false;
 		}
-		if (point.y < topLeft.y || point.y > bottomRight.y) {
+		if (y < yPosition || y > yPosition + current.height) {
 			return false;
 		}
 		return true;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#getBounds(java.awt.Rectangle)
+	 */
+	@Override
+	public void getBounds(Rectangle bounds) {
+		Sprite current = sprite;
+		bounds.setBounds(xPosition, yPosition, current.width, current.height);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -246,7 +473,7 @@ public abstract class AbstractPicture extends CanvasObject implements
 	 */
 	@Override
 	public void mousePressed(MouseEvent event) {
-		if (containsPoint(new Point(event.getX(), event.getY()))) {
+		if (contains(event.getX(), event.getY())) {
 			clickStarted = true;
 			onClick(event);
 		}
@@ -259,7 +486,7 @@ public abstract class AbstractPicture extends CanvasObject implements
 	 */
 	@Override
 	public void mouseReleased(MouseEvent event) {
-		if (containsPoint(new Point(event.getX(), event.getY()))
+		if (contains(event.getX(), event.getY())
 				&& clickStarted) {
 			clickStarted = true;
 			onRelease(event);
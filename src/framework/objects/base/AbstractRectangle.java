@@ -37,8 +37,10 @@ package framework.objects.base;
 
 import java.awt.Color;
 import java.awt.Point;
+import java.awt.Rectangle;
 
 import framework.core.Canvas;
+import framework.core.RenderContext;
 
 /**
  * The abstract class <code>AbstractRectangle</code> that is used to draw colored
@@ -131,11 +133,24 @@ public abstract class AbstractRectangle extends AbstractSquare {
 	public void draw() {
 		if (isVisible()) {
 			Canvas canvas = Canvas.getCanvas();
-			canvas.draw(this, color, new java.awt.Rectangle(xPosition,
-					yPosition, width, height));
+			geometry.setBounds(xPosition, yPosition, width, height);
+			canvas.draw(this, color, geometry);
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#draw(framework.core.RenderContext)
+	 */
+	@Override
+	public void draw(RenderContext context) {
+		geometry.setBounds(getDrawX(context), getDrawY(context), width,
+				height);
+		context.fill(geometry, color);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -143,15 +158,34 @@ public abstract class AbstractRectangle extends AbstractSquare {
 	 */
 	@Override
 	protected boolean containsPoint(Point point) {
-		Point topLeft = new Point(xPosition, yPosition);
-		Point bottomRight = new Point(xPosition + width, yPosition + height);
-		if (point.x < topLeft.x || point.x > bottomRight.x) {
+		return contains(point.x, point.y);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.objects.base.CanvasObject#contains(int, int)
+	 */
+	@Override
+	public boolean contains(int x, int y) {
+		if (x < xPosition || x > xPosition + width) {
 			return false;
 		}
-		if (point.y < topLeft.y || point.y > bottomRight.y) {
+		if (y < yPosition || y > yPosition + height) {
 			return false;
 		}
 		return true;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#getBounds(java.awt.Rectangle)
+	 */
+	@Override
+	public void getBounds(Rectangle bounds) {
+		bounds.setBounds(xPosition, yPosition, width, height);
+	}
+
 }
@@ -41,6 +41,7 @@ import java.awt.event.MouseWheelEvent;
 
 import framework.core.Application;
 import framework.core.Canvas;
+import framework.core.RenderContext;
 import framework.core.Time;
 
 import framework.events.MouseControl;
@@ -64,6 +65,9 @@ public abstract class AbstractSquare extends CanvasObject implements MouseContro
 	/** The size of the square. */
 	private int size;
 
+	/** The shape drawn on the canvas, reused for every drawing. */
+	protected final java.awt.Rectangle geometry = new java.awt.Rectangle();
+
 	/**
 	 * Create a new square at default position with default color.
 	 */
@@ -123,11 +127,23 @@ public abstract class AbstractSquare extends CanvasObject implements MouseContro
 	public void draw() {
 		if (isVisible()) {
 			Canvas canvas = Canvas.getCanvas();
-			canvas.draw(this, color, new java.awt.Rectangle(xPosition,
-					yPosition, size, size));
+			geometry.setBounds(xPosition, yPosition, size, size);
+			canvas.draw(this, color, geometry);
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#draw(framework.core.RenderContext)
+	 */
+	@Override
+	public void draw(RenderContext context) {
+		geometry.setBounds(getDrawX(context), getDrawY(context), size, size);
+		context.fill(geometry, color);
+	}
+
 	/**
 	 * Erase the square from screen.
 	 */
@@ -157,17 +173,36 @@ public abstract class AbstractSquare extends CanvasObject implements MouseContro
 	 */
 	@Override
 	protected boolean containsPoint(Point point) {
-		Point topLeft = new Point(xPosition, yPosition);
-		Point bottomRight = new Point(xPosition + size, yPosition + size);
-		if (point.x < topLeft.x || point.x > bottomRight.x) {
+		return contains(point.x, point.y);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.objects.base.CanvasObject#contains(int, int)
+	 */
+	@Override
+	public boolean contains(int x, int y) {
+		if (x < xPosition || x > xPosition + size) {
 			return false;
 		}
-		if (point.y < topLeft.y || point.y > bottomRight.y) {
+		if (y < yPosition || y > yPosition + size) {
 			return false;
 		}
 		return true;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#getBounds(java.awt.Rectangle)
+	 */
+	@Override
+	public void getBounds(Rectangle bounds) {
+		bounds.setBounds(xPosition, yPosition, size, size);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -205,7 +240,7 @@ public abstract class AbstractSquare extends CanvasObject implements MouseContro
 	 */
 	@Override
 	public void mousePressed(MouseEvent event) {
-		if (containsPoint(new Point(event.getX(), event.getY()))) {
+		if (contains(event.getX(), event.getY())) {
 			clickStarted = true;
 			onClick(event);
 		}
@@ -218,7 +253,7 @@ public abstract class AbstractSquare extends CanvasObject implements MouseContro
 	 */
 	@Override
 	public void mouseReleased(MouseEvent event) {
-		if (containsPoint(new Point(event.getX(), event.getY()))
+		if (contains(event.getX(), event.getY())
 				&& clickStarted) {
 			onRelease(event);
 		}
@@ -37,9 +37,12 @@ package framework.objects.base;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
 import java.awt.event.MouseEvent;
 
 import framework.core.Canvas;
+import framework.core.RenderContext;
 import framework.core.Time;
 
 /**
@@ -60,6 +63,19 @@ public abstract class AbstractText extends CanvasObject {
 	/** The font used for text-painting. */
 	private Font font;
 
+	/** The render context to measure the texts. */
+	private static final FontRenderContext FONT_CONTEXT = new FontRenderContext(
+			null, true, true);
+
+	/** The bounds of the text relative to its position. */
+	private final Rectangle textBounds = new Rectangle();
+
+	/** The text the bounds were measured for. */
+	private String measuredText;
+
+	/** The font the bounds were measured for. */
+	private Font measuredFont;
+
 	/**
 	 * Instantiates a new text with position and text.
 	 * 
@@ -116,6 +132,18 @@ public abstract class AbstractText extends CanvasObject {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#draw(framework.core.RenderContext)
+	 */
+	@Override
+	public void draw(RenderContext context) {
+		context.drawString(text, getDrawX(context), getDrawY(context), font,
+				color);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -135,6 +163,28 @@ public abstract class AbstractText extends CanvasObject {
 	 */
 	public void changeText(String text) {
 		this.text = text;
+		// a text of the same size would not be redrawn
+		repaint();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.objects.base.CanvasObject#getBounds(java.awt.Rectangle)
+	 */
+	@Override
+	public void getBounds(Rectangle bounds) {
+		if (text != measuredText || font != measuredFont) {
+			measuredText = text;
+			measuredFont = font;
+			if (text == null || font == null || text.isEmpty())
+				textBounds.setBounds(0, 0, 0, 0);
+			else
+				textBounds.setBounds(font.getStringBounds(text, FONT_CONTEXT)
+						.getBounds());
+		}
+		bounds.setBounds(xPosition + textBounds.x, yPosition + textBounds.y,
+				textBounds.width, textBounds.height);
 	}
 
 	/**
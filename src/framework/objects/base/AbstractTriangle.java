@@ -41,6 +41,7 @@ import java.awt.event.MouseWheelEvent;
 
 import framework.core.Application;
 import framework.core.Canvas;
+import framework.core.RenderContext;
 import framework.core.Time;
 
 import framework.events.MouseControl;
@@ -67,6 +68,9 @@ public abstract class AbstractTriangle extends CanvasObject implements MouseCont
 	/** The width. */
 	private int width;
 
+	/** The shape drawn on the canvas, reused for every drawing. */
+	private final Polygon geometry = new Polygon(new int[3], new int[3], 3);
+
 	/**
 	 * Create a new triangle at default position with default color.
 	 */
@@ -133,13 +137,44 @@ public abstract class AbstractTriangle extends CanvasObject implements MouseCont
 	public void draw() {
 		if (isVisible()) {
 			Canvas canvas = Canvas.getCanvas();
-			int[] xpoints = { xPosition, xPosition + (width / 2),
-					xPosition - (width / 2) };
-			int[] ypoints = { yPosition, yPosition + height, yPosition + height };
-			canvas.draw(this, color, new Polygon(xpoints, ypoints, 3));
+			updateGeometry(xPosition, yPosition);
+			canvas.draw(this, color, geometry);
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#draw(framework.core.RenderContext)
+	 */
+	@Override
+	public void draw(RenderContext context) {
+		updateGeometry(getDrawX(context), getDrawY(context));
+		context.fill(geometry, color);
+	}
+
+	/**
+	 * Updates the corners of the polygon to the current specifications.
+	 * 
+	 * @param x
+	 *            the x position to draw the triangle at
+	 * @param y
+	 *            the y position to draw the triangle at
+	 */
+	private void updateGeometry(int x, int y) {
+		int[] xpoints = geometry.xpoints;
+		int[] ypoints = geometry.ypoints;
+		xpoints[0] = x;
+		xpoints[1] = x + (width / 2);
+		xpoints[2] = x - (width / 2);
+		ypoints[0] = y;
+		ypoints[1] = y + height;
+		ypoints[2] = y + height;
+		// the cached bounds of the polygon are outdated now
+		geometry.invalidate();
+	}
+
 	/**
 	 * Erase the triangle on screen.
 	 */
@@ -168,15 +203,33 @@ public abstract class AbstractTriangle extends CanvasObject implements MouseCont
 	 */
 	@Override
 	protected boolean containsPoint(Point point) {
-		Point topLeft = new Point(xPosition, yPosition);
-		Point bottomRight = new Point(xPosition + width, yPosition + height);
-		if (point.x < topLeft.x || point.x > bottomRight.x) {
-			return false;
-		}
-		if (point.y < topLeft.y || point.y > bottomRight.y) {
+		return contains(point.x, point.y);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see framework.objects.base.CanvasObject#contains(int, int)
+	 */
+	@Override
+	public boolean contains(int x, int y) {
+		// the tip is at the position, the base is height pixels below
+		if (y < yPosition || y > yPosition + height) {
 			return false;
 		}
-		return true;
+		long dx = Math.abs(x - xPosition);
+		return dx * height <= (long) (y - yPosition) * (width / 2);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * framework.objects.base.CanvasObject#getBounds(java.awt.Rectangle)
+	 */
+	@Override
+	public void getBounds(Rectangle bounds) {
+		bounds.setBounds(xPosition - width / 2, yPosition, width, height);
 	}
 
 	/*
@@ -216,7 +269,7 @@ public abstract class AbstractTriangle extends CanvasObject implements MouseCont
 	 */
 	@Override
 	public void mousePressed(MouseEvent event) {
-		if (containsPoint(new Point(event.getX(), event.getY()))) {
+		if (contains(event.getX(), event.getY())) {
 			clickStarted = true;
 			onClick(event);
 		}
@@ -229,7 +282,7 @@ public abstract class AbstractTriangle extends CanvasObject implements MouseCont
 	 */
 	@Override
 	public void mouseReleased(MouseEvent event) {
-		if (containsPoint(new Point(event.getX(), event.getY()))
+		if (contains(event.getX(), event.getY())
 				&& clickStarted) {
 			onRelease(event);
 		}
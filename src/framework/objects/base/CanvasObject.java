@@ -37,9 +37,13 @@ package framework.objects.base;
 
 import java.awt.Color;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
+import java.util.concurrent.ConcurrentHashMap;
 
 import framework.core.Application;
+import framework.core.Canvas;
+import framework.core.RenderContext;
 import framework.core.UpdateObject;
 import framework.events.KeyboardControl;
 
@@ -53,18 +57,32 @@ import framework.events.KeyboardControl;
 public abstract class CanvasObject extends UpdateObject implements
 		KeyboardControl {
 
+	/**
+	 * The classes that override a key-method, see <code>handlesKeys()</code>.
+	 */
+	private static final ConcurrentHashMap<Class<?>, Boolean> keyHandlingClasses = new ConcurrentHashMap<Class<?>, Boolean>();
+
 	/** The x position of the object. */
 	protected int xPosition;
 
 	/** The y position of the object. */
 	protected int yPosition;
 
+	/** The x position before the last update step. */
+	private int previousX;
+
+	/** The y position before the last update step. */
+	private int previousY;
+
 	/** The isVisible flag indicates if an object is drawn or not. */
 	private boolean isVisible;
 
 	/** The color of the object. */
 	protected Color color;
 
+	/** The z-order, objects with a higher z-order are drawn on top. */
+	private volatile int zOrder;
+
 	/**
 	 * The click started flag indicates if the mouse was press over this object.
 	 */
@@ -82,8 +100,50 @@ public abstract class CanvasObject extends UpdateObject implements
 		super();
 		xPosition = xPos;
 		yPosition = yPos;
+		previousX = xPos;
+		previousY = yPos;
 		isVisible = false;
-		addKeyboardControl();
+		if (handlesKeys())
+			addKeyboardControl();
+	}
+
+	/**
+	 * Checks if the class of this object overrides one of the key-methods.
+	 * Only these objects are added as keyboard control, so the key-events are
+	 * not passed to all the objects that ignore them.
+	 * 
+	 * @return true, if the object handles key-events
+	 */
+	private boolean handlesKeys() {
+		Class<?> type = getClass();
+		Boolean result = keyHandlingClasses.get(type);
+		if (result == null) {
+			result = Boolean.valueOf(overrides(type, "keyPressed")
+					|| overrides(type, "keyReleased")
+					|| overrides(type, "keyTyped"));
+			keyHandlingClasses.put(type, result);
+		}
+		return result.booleanValue();
+	}
+
+	/**
+	 * Checks if a class overrides a key-method of the canvas object.
+	 * 
+	 * @param type
+	 *            the class
+	 * @param methodName
+	 *            the name of the key-method
+	 * @return true, if overridden
+	 */
+	private static boolean overrides(Class<?> type, String methodName) {
+		try {
+			return type.getMethod(methodName, KeyEvent.class)
+					.getDeclaringClass() != CanvasObject.class;
+		} catch (NoSuchMethodException e) {
+			return false;
+		} catch (SecurityException e) {
+			return true;
+		}
 	}
 
 	/**
@@ -123,6 +183,81 @@ public abstract class CanvasObject extends UpdateObject implements
 	 */
 	public abstract void draw();
 
+	/**
+	 * Draws the CanvasObject while the canvas is redrawn, called for every
+	 * visible object on every frame.
+	 * <p>
+	 * Override this method to draw with the given context directly, without
+	 * looking up the canvas. By default <code>draw()</code> is called.
+	 * </p>
+	 * 
+	 * @param context
+	 *            the render context of the frame
+	 */
+	public void draw(RenderContext context) {
+		draw();
+	}
+
+	/**
+	 * Saves the state of the object before an update step, the interpolated
+	 * frames are drawn between this state and the current one. Called for
+	 * every drawn object before every update step, if the interpolation is
+	 * enabled.
+	 * <p>
+	 * The position is saved by default. Override it to save more, e.g. the
+	 * size, and call <code>super.prepareUpdate()</code>.
+	 * </p>
+	 * 
+	 * @see Application#setInterpolation(boolean)
+	 */
+	public void prepareUpdate() {
+		previousX = xPosition;
+		previousY = yPosition;
+	}
+
+	/**
+	 * Gets the x position to draw the object at, between the position before
+	 * the last update step and the current one.
+	 * 
+	 * @param context
+	 *            the render context of the frame
+	 * @return the interpolated x position
+	 * @see RenderContext#getAlpha()
+	 */
+	protected int getDrawX(RenderContext context) {
+		return interpolate(previousX, xPosition, context.getAlpha());
+	}
+
+	/**
+	 * Gets the y position to draw the object at, between the position before
+	 * the last update step and the current one.
+	 * 
+	 * @param context
+	 *            the render context of the frame
+	 * @return the interpolated y position
+	 * @see RenderContext#getAlpha()
+	 */
+	protected int getDrawY(RenderContext context) {
+		return interpolate(previousY, yPosition, context.getAlpha());
+	}
+
+	/**
+	 * Interpolates between a previous and a current value.
+	 * 
+	 * @param previous
+	 *            the value before the last update step
+	 * @param current
+	 *            the current value
+	 * @param alpha
+	 *            the interpolation between 0 and 1
+	 * @return the interpolated value
+	 */
+	protected static int interpolate(int previous, int current, float alpha) {
+		if (alpha >= 1f || previous == current)
+			return current;
+		return previous + Math.round((current - previous) * alpha);
+	}
+
 	/**
 	 * Erase the CanvasObject from screen.
 	 */
@@ -145,6 +280,52 @@ public abstract class CanvasObject extends UpdateObject implements
 		isVisible = false;
 	}
 
+	/**
+	 * Gets the color of the object.
+	 * 
+	 * @return the color
+	 */
+	public Color getColor() {
+		return color;
+	}
+
+	/**
+	 * Marks the area of the object to be redrawn. Only needed with the partial
+	 * redraw, if the object looks different without a change of its bounds or
+	 * color.
+	 * 
+	 * @see Canvas#invalidate(Rectangle)
+	 */
+	public void repaint() {
+		Rectangle bounds = new Rectangle();
+		getBounds(bounds);
+		Canvas.getCanvas().invalidate(bounds);
+	}
+
+	/**
+	 * Gets the z-order of the object.
+	 * 
+	 * @return the z-order
+	 */
+	public int getZOrder() {
+		return zOrder;
+	}
+
+	/**
+	 * Sets the z-order of the object. Objects with a higher z-order are drawn
+	 * on top of the others, objects with the same z-order are drawn in the
+	 * order they were drawn first. The default is 0.
+	 * 
+	 * @param zOrder
+	 *            the new z-order
+	 */
+	public void setZOrder(int zOrder) {
+		if (this.zOrder == zOrder)
+			return;
+		this.zOrder = zOrder;
+		Canvas.getCanvas().changeDrawOrder();
+	}
+
 	/**
 	 * Checks if a CanvasObject is visible.
 	 * 
@@ -176,6 +357,33 @@ public abstract class CanvasObject extends UpdateObject implements
 		return false;
 	}
 
+	/**
+	 * Checks if the object contains a point. Used by the canvas to find the
+	 * object under the mouse, override it together with
+	 * <code>containsPoint()</code> for a check without creating a point.
+	 * 
+	 * @param x
+	 *            the x of the point
+	 * @param y
+	 *            the y of the point
+	 * @return true, if point is contained
+	 */
+	public boolean contains(int x, int y) {
+		return containsPoint(new Point(x, y));
+	}
+
+	/**
+	 * Gets the bounds of the object, the smallest rectangle containing the
+	 * whole object. Must be implemented for each figure, the default bounds
+	 * are empty at the position of the object.
+	 * 
+	 * @param bounds
+	 *            the rectangle to store the bounds in
+	 */
+	public void getBounds(Rectangle bounds) {
+		bounds.setBounds(xPosition, yPosition, 0, 0);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,70 @@
+package framework.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Class AssetLoadEvent is recorded for every asset loaded from a file or
+ * an URL, e.g. the image of a picture.
+ * 
+ * @see FrameworkEvents
+ */
+@Name("framework.AssetLoad")
+@Label("Asset Load")
+@Category({ FrameworkEvents.CATEGORY, "Loading" })
+@Description("An asset loaded from a file or an URL")
+public final class AssetLoadEvent extends jdk.jfr.Event {
+
+	/** The path of the asset. */
+	@Label("Path")
+	String path;
+
+	/** The width of an image, -1 if unknown. */
+	@Label("Width")
+	int width;
+
+	/** The height of an image, -1 if unknown. */
+	@Label("Height")
+	int height;
+
+	/** The success-flag, true if the asset was loaded. */
+	@Label("Success")
+	boolean success;
+
+	/**
+	 * Starts a new event, if the events are switched on and recorded.
+	 * 
+	 * @return the started event, null if not recorded
+	 */
+	public static AssetLoadEvent start() {
+		if (!FrameworkEvents.isEnabled())
+			return null;
+		AssetLoadEvent event = new AssetLoadEvent();
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it.
+	 * 
+	 * @param path
+	 *            the path of the asset
+	 * @param width
+	 *            the width of an image, -1 if unknown
+	 * @param height
+	 *            the height of an image, -1 if unknown
+	 * @param success
+	 *            true, if the asset was loaded
+	 */
+	public void finish(String path, int width, int height, boolean success) {
+		this.path = path;
+		this.width = width;
+		this.height = height;
+		this.success = success;
+		commit();
+	}
+}
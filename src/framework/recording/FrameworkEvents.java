@@ -0,0 +1,63 @@
+package framework.recording;
+
+/**
+ * The Class FrameworkEvents switches the flight recorder events of the
+ * framework on and off at runtime.
+ * 
+ * <p>
+ * The events are only recorded while a flight recording is running that
+ * enables them, e.g. started with
+ * <code>-XX:StartFlightRecording</code> or <code>jcmd &lt;pid&gt; JFR.start</code>.
+ * All events are in the category "JIT Framework" and are named
+ * <code>framework.*</code>, so a recording setting can also enable single
+ * ones or give them a threshold:
+ * </p>
+ * <code>
+ * <pre>
+ * jcmd &lt;pid&gt; JFR.start settings=profile framework.Redraw#threshold=5ms
+ * </pre>
+ * </code>
+ * <p>
+ * Switched off here the framework does not even create the events, the
+ * default is on.
+ * </p>
+ * 
+ * @see TickEvent
+ * @see RedrawEvent
+ * @see TimerEvent
+ * @see WorkerEvent
+ * @see AssetLoadEvent
+ */
+public final class FrameworkEvents {
+
+	/** The category of all events of the framework. */
+	static final String CATEGORY = "JIT Framework";
+
+	/** The enabled-flag, true if the events are created. */
+	private static volatile boolean enabled = true;
+
+	/**
+	 * Instantiates new framework events, not used.
+	 */
+	private FrameworkEvents() {
+	}
+
+	/**
+	 * Switches the events of the framework on or off.
+	 * 
+	 * @param enabled
+	 *            true, to create the events
+	 */
+	public static void setEnabled(boolean enabled) {
+		FrameworkEvents.enabled = enabled;
+	}
+
+	/**
+	 * Checks if the events of the framework are switched on.
+	 * 
+	 * @return true, if the events are created
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+}
@@ -0,0 +1,72 @@
+package framework.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Class RedrawEvent is recorded for every redraw of the canvas.
+ * 
+ * @see FrameworkEvents
+ */
+@Name("framework.Redraw")
+@Label("Redraw")
+@Category({ FrameworkEvents.CATEGORY, "Loop" })
+@Description("A redraw of the canvas")
+@StackTrace(false)
+public final class RedrawEvent extends jdk.jfr.Event {
+
+	/** The number of the frame. */
+	@Label("Frame")
+	long frame;
+
+	/** The number of objects in the draw order. */
+	@Label("Objects")
+	int objects;
+
+	/** The full-flag, true if the whole canvas was redrawn. */
+	@Label("Full Redraw")
+	boolean full;
+
+	/** The number of dirty rectangles of a partial redraw. */
+	@Label("Dirty Rectangles")
+	int dirtyRectangles;
+
+	/**
+	 * Starts a new event, if the events are switched on and recorded.
+	 * 
+	 * @return the started event, null if not recorded
+	 */
+	public static RedrawEvent start() {
+		if (!FrameworkEvents.isEnabled())
+			return null;
+		RedrawEvent event = new RedrawEvent();
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it.
+	 * 
+	 * @param frame
+	 *            the number of the frame
+	 * @param objects
+	 *            the number of objects in the draw order
+	 * @param full
+	 *            true, if the whole canvas was redrawn
+	 * @param dirtyRectangles
+	 *            the number of dirty rectangles redrawn
+	 */
+	public void finish(long frame, int objects, boolean full,
+			int dirtyRectangles) {
+		this.frame = frame;
+		this.objects = objects;
+		this.full = full;
+		this.dirtyRectangles = dirtyRectangles;
+		commit();
+	}
+}
@@ -0,0 +1,61 @@
+package framework.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The Class TickEvent is recorded for every fixed time-step update of all
+ * objects. The redraws are recorded as <code>RedrawEvent</code>s.
+ * 
+ * @see FrameworkEvents
+ * @see RedrawEvent
+ */
+@Name("framework.Tick")
+@Label("Tick")
+@Category({ FrameworkEvents.CATEGORY, "Loop" })
+@Description("An update of all objects")
+@StackTrace(false)
+public final class TickEvent extends jdk.jfr.Event {
+
+	/** The time-step of the update. */
+	@Label("Time-Step")
+	@Timespan(Timespan.NANOSECONDS)
+	long step;
+
+	/** The number of updateable objects. */
+	@Label("Updateables")
+	int updateables;
+
+	/**
+	 * Starts a new event, if the events are switched on and recorded.
+	 * 
+	 * @return the started event, null if not recorded
+	 */
+	public static TickEvent start() {
+		if (!FrameworkEvents.isEnabled())
+			return null;
+		TickEvent event = new TickEvent();
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it.
+	 * 
+	 * @param step
+	 *            the time-step in nanoseconds
+	 * @param updateables
+	 *            the number of updateable objects
+	 */
+	public void finish(long step, int updateables) {
+		this.step = step;
+		this.updateables = updateables;
+		commit();
+	}
+}
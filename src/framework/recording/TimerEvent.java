@@ -0,0 +1,60 @@
+package framework.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Class TimerEvent is recorded for every run of the timer that called at
+ * least one timed control.
+ * 
+ * @see FrameworkEvents
+ */
+@Name("framework.Timer")
+@Label("Timer")
+@Category({ FrameworkEvents.CATEGORY, "Timer" })
+@Description("A batch of timed controls called by the timer")
+@StackTrace(false)
+public final class TimerEvent extends jdk.jfr.Event {
+
+	/** The number of controls called. */
+	@Label("Calls")
+	int calls;
+
+	/** The number of registered controls. */
+	@Label("Timers")
+	int timers;
+
+	/**
+	 * Starts a new event, if the events are switched on and recorded.
+	 * 
+	 * @return the started event, null if not recorded
+	 */
+	public static TimerEvent start() {
+		if (!FrameworkEvents.isEnabled())
+			return null;
+		TimerEvent event = new TimerEvent();
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it, if any control was called.
+	 * 
+	 * @param calls
+	 *            the number of controls called
+	 * @param timers
+	 *            the number of registered controls
+	 */
+	public void finish(int calls, int timers) {
+		if (calls == 0)
+			return;
+		this.calls = calls;
+		this.timers = timers;
+		commit();
+	}
+}
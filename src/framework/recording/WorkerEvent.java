@@ -0,0 +1,63 @@
+package framework.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Class WorkerEvent is recorded for every function executed by a worker
+ * thread, e.g. the loader functions.
+ * 
+ * @see FrameworkEvents
+ */
+@Name("framework.Worker")
+@Label("Worker")
+@Category({ FrameworkEvents.CATEGORY, "Loading" })
+@Description("A function executed by a worker thread")
+public final class WorkerEvent extends jdk.jfr.Event {
+
+	/** The class carrying the function. */
+	@Label("Carrier")
+	Class<?> carrier;
+
+	/** The name of the function. */
+	@Label("Function")
+	String function;
+
+	/** The success-flag, true if the function returned normally. */
+	@Label("Success")
+	boolean success;
+
+	/**
+	 * Starts a new event, if the events are switched on and recorded.
+	 * 
+	 * @return the started event, null if not recorded
+	 */
+	public static WorkerEvent start() {
+		if (!FrameworkEvents.isEnabled())
+			return null;
+		WorkerEvent event = new WorkerEvent();
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it.
+	 * 
+	 * @param carrier
+	 *            the class carrying the function
+	 * @param function
+	 *            the name of the function
+	 * @param success
+	 *            true, if the function returned normally
+	 */
+	public void finish(Class<?> carrier, String function, boolean success) {
+		this.carrier = carrier;
+		this.function = function;
+		this.success = success;
+		commit();
+	}
+}
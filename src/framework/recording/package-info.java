@@ -0,0 +1,5 @@
+/**
+ * The Java Flight Recorder events of the framework, to find the stalls of a
+ * running application next to the GC and lock events of the same recording.
+ */
+package framework.recording;
\ No newline at end of file